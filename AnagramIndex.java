@@ -0,0 +1,236 @@
+package indy;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * AnagramIndex finds every word that can be made from a rack
+ * Words are grouped by their signature, their letters in sorted order, so a
+ * word and all of its anagrams share one group. The signatures are kept in a
+ * dawg of their own: a rack can be taken in sorted order too, so a query only
+ * walks the signatures the rack can still spell instead of trying every
+ * ordering of the tiles, and counting the signatures below each node turns
+ * the path walked into the index of the group
+ */
+public class AnagramIndex {
+    public static final int MAX_BLANKS = 2;
+
+    private Dawg signatures;
+    //number of signatures that end at or below each node of signatures
+    private int[] signatureCounts;
+    //words of signature i are words[groupStarts[i]] to words[groupStarts[i + 1] - 1]
+    private int[] groupStarts;
+    private String[] words;
+
+    /**
+     * constructor for anagramIndex, arrays come from build
+     * @param signatures dawg of every signature
+     * @param signatureCounts signatures at or below each node
+     * @param groupStarts first word of each signature
+     * @param words words grouped by signature
+     */
+    private AnagramIndex(Dawg signatures, int[] signatureCounts, int[] groupStarts, String[] words){
+        this.signatures = signatures;
+        this.signatureCounts = signatureCounts;
+        this.groupStarts = groupStarts;
+        this.words = words;
+    }
+
+    /**
+     * builds the index from every word in a lexicon
+     * @param lexicon dawg of valid words, e.g. WordTree.getDawg()
+     * @return the finished index
+     */
+    public static AnagramIndex build(Dawg lexicon){
+        ArrayList<String> lexiconWords = new ArrayList<>();
+        addWords(lexicon, Dawg.ROOT, new StringBuilder(), lexiconWords);
+        int count = lexiconWords.size();
+        //each entry is signature:word, ':' sorts before every letter, so
+        //sorting the entries sorts by signature and then by word
+        String[] entries = new String[count];
+        for (int i = 0; i < count; i++) {
+            String word = lexiconWords.get(i);
+            entries[i] = getSignature(word) + ':' + word;
+        }
+        Arrays.sort(entries);
+
+        ArrayList<String> signatureList = new ArrayList<>();
+        int[] groupStarts = new int[count + 1];
+        String[] words = new String[count];
+        for (int k = 0; k < count; k++) {
+            int split = entries[k].indexOf(':');
+            String key = entries[k].substring(0, split);
+            if (signatureList.isEmpty() || !key.equals(signatureList.get(signatureList.size() - 1))) {
+                groupStarts[signatureList.size()] = k;
+                signatureList.add(key);
+            }
+            words[k] = entries[k].substring(split + 1);
+        }
+        groupStarts[signatureList.size()] = count;
+
+        Dawg signatures = Dawg.build(signatureList);
+        int[] signatureCounts = new int[signatures.getNodeCount()];
+        Arrays.fill(signatureCounts, -1);
+        countSignatures(signatures, Dawg.ROOT, signatureCounts);
+        return new AnagramIndex(signatures, signatureCounts,
+                Arrays.copyOf(groupStarts, signatureList.size() + 1), words);
+    }
+
+    /**
+     * adds every word below a node, in alphabetical order
+     * @param dawg dawg to read
+     * @param node node reached by prefix
+     * @param prefix letters on the path to node
+     * @param words list the words are added to
+     */
+    private static void addWords(Dawg dawg, int node, StringBuilder prefix, List<String> words){
+        if (dawg.isTerminal(node)) {
+            words.add(prefix.toString());
+        }
+        int mask = dawg.getLetterMask(node);
+        while (mask != 0) {
+            int letter = Integer.numberOfTrailingZeros(mask);
+            mask &= mask - 1;
+            prefix.append((char) ('A' + letter));
+            addWords(dawg, dawg.child(node, letter), prefix, words);
+            prefix.setLength(prefix.length() - 1);
+        }
+    }
+
+    /**
+     * counts the signatures that end at or below a node
+     * nodes are shared in a dawg, so each count is only worked out once
+     * @param dawg dawg of signatures
+     * @param node node to count
+     * @param counts counts found so far, -1 if not yet
+     * @return count of node
+     */
+    private static int countSignatures(Dawg dawg, int node, int[] counts){
+        if (counts[node] < 0) {
+            int count = dawg.isTerminal(node) ? 1 : 0;
+            int mask = dawg.getLetterMask(node);
+            while (mask != 0) {
+                int letter = Integer.numberOfTrailingZeros(mask);
+                mask &= mask - 1;
+                count += countSignatures(dawg, dawg.child(node, letter), counts);
+            }
+            counts[node] = count;
+        }
+        return counts[node];
+    }
+
+    /**
+     * signature of a word, the key its group is found by
+     * @param word word in uppercase
+     * @return letters of the word in sorted order
+     */
+    public static String getSignature(CharSequence word){
+        char[] letters = word.toString().toCharArray();
+        Arrays.sort(letters);
+        return new String(letters);
+    }
+
+    /**
+     * finds every word that can be made from some or all of the tiles on a rack
+     * @param rack rack letters, ' ' or '?' for up to MAX_BLANKS blanks
+     * @return words grouped by signature, in no particular length order
+     */
+    public List<String> getWords(CharSequence rack){
+        return this.find(rack, false);
+    }
+
+    /**
+     * finds every word that uses all of the tiles on a rack, e.g. to look for bingos
+     * @param rack rack letters, ' ' or '?' for up to MAX_BLANKS blanks
+     * @return words grouped by signature
+     */
+    public List<String> getAnagrams(CharSequence rack){
+        return this.find(rack, true);
+    }
+
+    /**
+     * walks the signatures a rack can spell
+     * @param rack rack letters, ' ' or '?' for blanks
+     * @param useAll true if only words using every tile are wanted
+     * @return words found
+     */
+    private List<String> find(CharSequence rack, boolean useAll){
+        int[] counts = new int[Dawg.ALPHABET_SIZE];
+        int blanks = 0;
+        for (int i = 0; i < rack.length(); i++) {
+            char letter = rack.charAt(i);
+            if (letter == MoveGenerator.BLANK || letter == '?') {
+                blanks++;
+            } else if (letter >= 'A' && letter <= 'Z') {
+                counts[letter - 'A']++;
+            } else {
+                throw new IllegalArgumentException("not a rack letter: '" + letter + "'");
+            }
+        }
+        if (blanks > MAX_BLANKS) {
+            throw new IllegalArgumentException("at most " + MAX_BLANKS + " blanks, got " + blanks);
+        }
+        ArrayList<String> found = new ArrayList<>();
+        this.collect(Dawg.ROOT, 0, 0, rack.length(), counts, blanks, useAll, found);
+        return found;
+    }
+
+    /**
+     * adds the words of every signature at or below a node that the tiles left can spell
+     * a blank is only used for a letter that has no tile left, so every
+     * signature is reached by exactly one path
+     * @param node node of signatures
+     * @param rank number of signatures that come before every signature below node
+     * @param depth tiles used to reach node
+     * @param tiles tiles on the rack
+     * @param counts tiles left of each letter
+     * @param blanks blanks left
+     * @param useAll true if only signatures using every tile count
+     * @param found list the words are added to
+     */
+    private void collect(int node, int rank, int depth, int tiles, int[] counts, int blanks,
+                         boolean useAll, List<String> found){
+        if (this.signatures.isTerminal(node)) {
+            if (!useAll || depth == tiles) {
+                for (int k = this.groupStarts[rank]; k < this.groupStarts[rank + 1]; k++) {
+                    found.add(this.words[k]);
+                }
+            }
+            rank++;
+        }
+        if (depth == tiles) {
+            return;
+        }
+        int mask = this.signatures.getLetterMask(node);
+        while (mask != 0) {
+            int letter = Integer.numberOfTrailingZeros(mask);
+            mask &= mask - 1;
+            int child = this.signatures.child(node, letter);
+            if (counts[letter] > 0) {
+                counts[letter]--;
+                this.collect(child, rank, depth + 1, tiles, counts, blanks, useAll, found);
+                counts[letter]++;
+            } else if (blanks > 0) {
+                this.collect(child, rank, depth + 1, tiles, counts, blanks - 1, useAll, found);
+            }
+            rank += this.signatureCounts[child];
+        }
+    }
+
+    /**
+     * accessor for the number of signatures, i.e. groups of anagrams
+     * @return signature count
+     */
+    public int getSignatureCount(){
+        return this.groupStarts.length - 1;
+    }
+
+    /**
+     * accessor for the number of words
+     * @return word count
+     */
+    public int getWordCount(){
+        return this.words.length;
+    }
+}
@@ -1,7 +1,11 @@
 package indy;
 
 import javafx.application.Application;
+import javafx.geometry.Rectangle2D;
+import javafx.scene.Group;
 import javafx.scene.Scene;
+import javafx.scene.transform.Scale;
+import javafx.stage.Screen;
 import javafx.stage.Stage;
 
 /**
@@ -17,8 +21,14 @@ public class App extends Application {
     public void start(Stage stage) {
         // Create top-level object, set up the scene, and show the stage here.
         PaneOrganizer organizer = new PaneOrganizer();
-        Scene scene = new Scene(organizer.getRoot(), Constants.SCENE_WIDTH,
-                Constants.SCENE_HEIGHT + 2*Constants.SQUARE_DIM);
+        int width = organizer.getWidth();
+        int height = width + 2*Constants.SQUARE_DIM;
+        //large boards are drawn smaller so the window fits on the screen
+        Rectangle2D screen = Screen.getPrimary().getVisualBounds();
+        double scale = Math.min(1, Constants.MAX_SCREEN_FRACTION
+                * Math.min(screen.getWidth() / width, screen.getHeight() / height));
+        organizer.getRoot().getTransforms().add(new Scale(scale, scale));
+        Scene scene = new Scene(new Group(organizer.getRoot()), width * scale, height * scale);
         stage.setTitle("Scrabble");
         stage.setScene(scene);
         stage.show();
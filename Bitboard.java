@@ -0,0 +1,197 @@
+package indy;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Bitboard is one bit per square of a board, packed into longs
+ * Square (row, col) is bit row * size + col, so a 9x9 board fits in two
+ * longs and a 15x15 or 21x21 board in a few more. Asking whether any square
+ * is set, or which squares are next to set ones, works on whole longs at
+ * a time instead of looking at each square
+ */
+public class Bitboard {
+    //column masks of every board size used so far
+    private static final ConcurrentHashMap<Integer, long[][]> COLUMN_MASKS = new ConcurrentHashMap<>();
+
+    private int size;
+    private long[] bits;
+    //squares that are not in the first or last column, so shifts do not wrap to the next row
+    private long[] notFirstCol;
+    private long[] notLastCol;
+
+    /**
+     * constructor for an empty bitboard
+     * @param mySize number of rows and columns
+     */
+    public Bitboard(int mySize){
+        this.size = mySize;
+        this.bits = new long[(mySize * mySize + Long.SIZE - 1) / Long.SIZE];
+        //column masks only depend on the size, so every bitboard of a size shares them
+        long[][] masks = COLUMN_MASKS.computeIfAbsent(mySize, Bitboard::createColumnMasks);
+        this.notFirstCol = masks[0];
+        this.notLastCol = masks[1];
+    }
+
+    /**
+     * works out the column masks of a board size
+     * @param size number of rows and columns
+     * @return squares not in the first column, then squares not in the last column
+     */
+    private static long[][] createColumnMasks(int size){
+        long[][] masks = new long[2][(size * size + Long.SIZE - 1) / Long.SIZE];
+        for (int row = 0; row < size; row++){
+            for (int col = 0; col < size; col++){
+                int index = row * size + col;
+                if (col != 0){
+                    masks[0][index >>> 6] |= 1L << index;
+                }
+                if (col != size - 1){
+                    masks[1][index >>> 6] |= 1L << index;
+                }
+            }
+        }
+        return masks;
+    }
+
+    /**
+     * constructor for a copy of another bitboard
+     * @param other bitboard to copy
+     */
+    public Bitboard(Bitboard other){
+        this.size = other.size;
+        this.bits = other.bits.clone();
+        //column masks never change, so they are shared
+        this.notFirstCol = other.notFirstCol;
+        this.notLastCol = other.notLastCol;
+    }
+
+    /**
+     * checks a square
+     * @param row row number
+     * @param col column number
+     * @return true if set
+     */
+    public boolean get(int row, int col){
+        int index = row * this.size + col;
+        return (this.bits[index >>> 6] & (1L << index)) != 0;
+    }
+
+    /**
+     * sets a square
+     * @param row row number
+     * @param col column number
+     */
+    public void set(int row, int col){
+        int index = row * this.size + col;
+        this.bits[index >>> 6] |= 1L << index;
+    }
+
+    /**
+     * clears a square
+     * @param row row number
+     * @param col column number
+     */
+    public void clear(int row, int col){
+        int index = row * this.size + col;
+        this.bits[index >>> 6] &= ~(1L << index);
+    }
+
+    /**
+     * clears every square
+     */
+    public void clear(){
+        Arrays.fill(this.bits, 0);
+    }
+
+    /**
+     * checks if no square is set
+     * @return true if empty
+     */
+    public boolean isEmpty(){
+        for (long word : this.bits){
+            if (word != 0){
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * counts the squares that are set
+     * @return count
+     */
+    public int count(){
+        int count = 0;
+        for (long word : this.bits){
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+
+    /**
+     * checks if any square above, below, left or right of a square is set
+     * @param row row number
+     * @param col column number
+     * @return true if a neighbor is set
+     */
+    public boolean hasNeighbor(int row, int col){
+        return (row > 0 && this.get(row - 1, col))
+                || (row < this.size - 1 && this.get(row + 1, col))
+                || (col > 0 && this.get(row, col - 1))
+                || (col < this.size - 1 && this.get(row, col + 1));
+    }
+
+    /**
+     * sets this to every square that is next to a square of another bitboard
+     * and is not itself set in it
+     * @param other bitboard of the same size
+     */
+    public void setToNeighbors(Bitboard other){
+        long[] source = other.bits;
+        int last = this.bits.length - 1;
+        for (int i = 0; i <= last; i++){
+            //a bit moves up a row by shifting size places down, and so on
+            long up = shiftDown(source, i, this.size);
+            long down = shiftUp(source, i, this.size);
+            long left = shiftDown(source, i, 1) & this.notLastCol[i];
+            long right = shiftUp(source, i, 1) & this.notFirstCol[i];
+            this.bits[i] = (up | down | left | right) & ~source[i];
+        }
+        //bits past the last square
+        int squares = this.size * this.size;
+        if (squares % Long.SIZE != 0){
+            this.bits[last] &= (1L << squares) - 1;
+        }
+    }
+
+    /**
+     * word i of bits shifted towards higher square numbers
+     * @param bits bitboard words
+     * @param i index of the word
+     * @param shift squares to shift, less than 64
+     * @return shifted word
+     */
+    private static long shiftUp(long[] bits, int i, int shift){
+        long word = bits[i] << shift;
+        if (i > 0){
+            word |= bits[i - 1] >>> (Long.SIZE - shift);
+        }
+        return word;
+    }
+
+    /**
+     * word i of bits shifted towards lower square numbers
+     * @param bits bitboard words
+     * @param i index of the word
+     * @param shift squares to shift, less than 64
+     * @return shifted word
+     */
+    private static long shiftDown(long[] bits, int i, int shift){
+        long word = bits[i] >>> shift;
+        if (i < bits.length - 1){
+            word |= bits[i + 1] << (Long.SIZE - shift);
+        }
+        return word;
+    }
+}
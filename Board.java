@@ -5,36 +5,41 @@ import javafx.scene.layout.Pane;
 import java.util.ArrayList;
 
 /**
- * Board Class handles all logic that is internal to the game board
+ * Board Class draws the game board and keeps track of which Tile is on which square
+ * All game logic for the board is in BoardState, which Board keeps up to date
  */
 public class Board {
     private GameSquare [][] gameSquareBoard;
     private Tile [][]tileBoard;
+    private BoardState state;
     private Pane pane;
+    //square highlighted while dragging, -1 if none
+    private int highlightedRow = -1;
+    private int highlightedCol = -1;
 
     /**
      * constructor of board class
      * initializes instance variables and generates board
      * @param myPane parent pane
+     * @param myState logical board this board draws
      */
-    public Board(Pane myPane){
+    public Board(Pane myPane, BoardState myState){
         this.pane = myPane;
+        this.state = myState;
         this.pane.setOnMouseDragged((MouseEvent e) -> this.highlightSquares(e));
-        this.gameSquareBoard = new GameSquare[Constants.SCENE_HEIGHT/ Constants.SQUARE_DIM]
-                [Constants.SCENE_WIDTH/ Constants.SQUARE_DIM];
-        this.tileBoard = new Tile[Constants.SCENE_HEIGHT/ Constants.SQUARE_DIM]
-                [Constants.SCENE_WIDTH/ Constants.SQUARE_DIM];
+        this.gameSquareBoard = new GameSquare[this.state.getSize()][this.state.getSize()];
+        this.tileBoard = new Tile[this.state.getSize()][this.state.getSize()];
         this.generateBoard();
     }
 
     /**
-     * graphically and logically creates board of GameSquares
+     * graphically creates board of GameSquares
      */
     private void generateBoard(){
         for (int i = 0; i < this.gameSquareBoard.length; i++){
             for (int j = 0; j < this.gameSquareBoard[0].length; j++){
                 this.gameSquareBoard[i][j] = new GameSquare(j* Constants.SQUARE_DIM,
-                        i* Constants.SQUARE_DIM, this.pane);
+                        i* Constants.SQUARE_DIM, this.pane, this.state.getLayout().getPremium(i, j));
             }
         }
     }
@@ -48,217 +53,108 @@ public class Board {
     }
 
     /**
-     * accessor for tileBoard
-     * @return tileBoard
+     * accessor for the width of the board on screen, which is also its height
+     * @return width in pixels
      */
-    public Tile[][] getTileBoard(){
-        return this.tileBoard;
+    public int getWidth(){
+        return this.state.getSize() * Constants.SQUARE_DIM;
     }
 
     /**
-     * highlights the square that a tile being dragged would go into
-     * useful to show user where their move would go
-     * @param event mouseDragged
+     * accessor for the logical board
+     * @return state
      */
-    private void highlightSquares(MouseEvent event){
-        for (GameSquare[] gameSquares : this.gameSquareBoard) {
-            for (int j = 0; j < this.gameSquareBoard[0].length; j++) {
-                gameSquares[j].resetColor();
-                if (event.getY() < Constants.SCENE_HEIGHT && event.getY() > 0
-                        && event.getX() > 0 && event.getX() < Constants.SCENE_WIDTH) {
-                    int col = (int) (event.getX() / Constants.SQUARE_DIM);
-                    int row = (int) (event.getY() / Constants.SQUARE_DIM);
-                    this.gameSquareBoard[row][col].changeGlow();
-                }
-            }
-        }
+    public BoardState getState(){
+        return this.state;
     }
 
     /**
-     * checks each row if there is a potential word
-     * @param words Arraylist of words to be checked against bst
-     * @return returns score
+     * accessor for the tile on a square
+     * @param row row number
+     * @param col column number
+     * @return tile, or null if the square is empty
      */
-    public int checkHorizWords(ArrayList<String> words){
-        int score = 0;
-        ArrayList<Tile> wordTiles = new ArrayList<>();
-        for (Tile[] tiles : this.tileBoard) {
-            String word = "";
-            //for each row, looks for a tile that has an empty tile to the left
-            // and sets it as first letter
-            for (int j = this.tileBoard[0].length - 1; j > 0; j--) {
-                if (tiles[j] != null && tiles[j - 1] == null) {
-                    word = String.valueOf(tiles[j].letter);
-                    wordTiles.add(tiles[j]);
-                    //adds on additional letters to right of first letter
-                    for (int k = j + 1; k < this.tileBoard[0].length; k++) {
-                        if (tiles[k] != null) {
-                            word = word + tiles[k].letter;
-                            wordTiles.add(tiles[k]);
-                        } else {
-                            break;
-                        }
-                    }
-                //same as above, edge case for left side of board
-                } else if (j == 1 && tiles[0] != null) {
-                    word = String.valueOf(tiles[0].letter);
-                    wordTiles.add(tiles[0]);
-                    for (int k = j; k < this.tileBoard[0].length; k++) {
-                        if (tiles[k] != null) {
-                            word = word + tiles[k].letter;
-                            wordTiles.add(tiles[k]);
-                        } else {
-                            break;
-                        }
-                    }
-                }
-                //calculates score based on words found
-                score = this.calculateScore(word, words, wordTiles, score);
-            }
-        }
-        return score;
+    public Tile getTile(int row, int col){
+        return this.tileBoard[row][col];
     }
 
     /**
-     * Very similar to checkHorizWords, except for vertical words
-     * @param words arraylist of words to be checked against bst
-     * @return returns score
+     * puts a tile on a square, both on the tileBoard and logically
+     * a tile that was already somewhere else on the board is taken off there first
+     * @param tile tile being placed
+     * @param row row number
+     * @param col column number
      */
-    public int checkVertWords(ArrayList<String> words){
-        int score = 0;
-        ArrayList<Tile> wordTiles = new ArrayList<>();
-        for (int j = 0; j < this.tileBoard[0].length; j++) {
-            String word = "";
-            //for each column, look for a tile with an empty square above and set as first tile
-            for (int i = this.tileBoard.length - 1; i > 0; i--) {
-                if (this.tileBoard[i][j] != null && this.tileBoard[i - 1][j] == null) {
-                    word = String.valueOf(this.tileBoard[i][j].letter);
-                    wordTiles.add(this.tileBoard[i][j]);
-                    //add on tiles underneath to create potential word
-                    for (int k = i + 1; k < this.tileBoard.length; k++) {
-                        if (this.tileBoard[k][j] != null) {
-                            word = word + this.tileBoard[k][j].letter;
-                            wordTiles.add(this.tileBoard[k][j]);
-                        } else {
-                            break;
-                        }
-                    }
-                //same as above, edge case of first letter on first row
-                } else if (i == 1 && this.tileBoard[0][j] != null) {
-                    word = String.valueOf(this.tileBoard[0][j].letter);
-                    wordTiles.add(this.tileBoard[0][j]);
-                    for (int k = i; k < this.tileBoard.length; k++) {
-                        if (this.tileBoard[k][j] != null) {
-                            word = word + this.tileBoard[k][j].letter;
-                            wordTiles.add(this.tileBoard[k][j]);
-                        } else {
-                            break;
-                        }
-                    }
-                }
-                //calculate score for words found
-                score = this.calculateScore(word, words, wordTiles, score);
-            }
+    public void placeTile(Tile tile, int row, int col){
+        if (this.tileBoard[row][col] != tile){
+            this.removeTile(tile);
         }
-        return score;
+        this.tileBoard[row][col] = tile;
+        this.state.placeTile(row, col, tile.letter, tile.isBlank());
     }
 
     /**
-     * ensures the same word isn't counted multiple times
-     * if not for this method, DOG would be scored 3 times
-     * because for each letter, checkHorizWords would set
-     * D as the first letter and score it accordingly
-     * @param word word that was detected
-     * @param words arraylist of words to be checked against bst
-     * @return boolean of whether not word already is detected
+     * puts a tile on a square that already has a scored tile in the logical
+     * board, e.g. when a saved game is shown
+     * @param tile tile showing the scored tile
+     * @param row row number
+     * @param col column number
      */
-    private boolean isNotDuplicate(String word, ArrayList<String> words){
-        for (String existingWord : words) {
-            if (word == existingWord) {
-                return false;
-            }
-        }
-        return true;
+    public void showScoredTile(Tile tile, int row, int col){
+        this.tileBoard[row][col] = tile;
     }
 
     /**
-     * ensures that at least one of the tiles in the word being
-     * checked is "new", i.e. added on the turn. this ensures that
-     * words already on the board that the player doesn't add to
-     * do not count towards their score
-     *
-     * @param tiles ArrayList of tiles that make up each word
-     * @return boolean of whether or not word is new
+     * takes a tile off the board if it is on it
+     * @param tile tile being removed
      */
-    private boolean checkWordNew(ArrayList<Tile> tiles){
-        for (Tile tile: tiles) {
-            if(tile.isTemporary()){
-                return true;
-            }
+    public void removeTile(Tile tile){
+        int row = tile.getRow();
+        int col = tile.getCol();
+        if (this.tileBoard[row][col] == tile){
+            this.tileBoard[row][col] = null;
+            this.state.removeTile(row, col);
         }
-        return false;
     }
 
     /**
-     * handles premium letter squares with color checking
-     * calculates a "bonus" to be added to the original score
-     * @param tile tile in word being checked
-     * @return bonus addition
+     * collects the tiles placed on the board this turn
+     * @return arrayList of tiles that have not been scored yet
      */
-    private int checkBonusLetters(Tile tile){
-        GameSquare square = this.gameSquareBoard[tile.getRow()][tile.getCol()];
-        if (square.getColor() == Constants.DL_COLOR){
-            square.setToNormal();
-            return tile.getScore();
-        } else if (square.getColor() == Constants.TL_COLOR){
-            square.setToNormal();
-            return 2 * tile.getScore();
+    public ArrayList<Tile> getTemporaryTiles(){
+        ArrayList<Tile> tiles = new ArrayList<>();
+        for (int k = 0; k < this.state.getPlacedCount(); k++){
+            tiles.add(this.tileBoard[this.state.getPlacedRow(k)][this.state.getPlacedCol(k)]);
         }
-        return 0;
+        return tiles;
     }
 
     /**
-     * handles premium word squares with color checking
-     * calculates a "bonus" multiplier that will act on original word score
-     * @param tile tile in word being checked
-     * @return multiplier
+     * highlights the square that a tile being dragged would go into
+     * useful to show user where their move would go
+     * only the square highlighted before and the new one are changed,
+     * and nothing is changed while the tile stays over the same square
+     * @param event mouseDragged
      */
-    private int checkBonusWords(Tile tile){
-        GameSquare square = this.gameSquareBoard[tile.getRow()][tile.getCol()];
-        if (square.getColor() == Constants.DW_COLOR){
-            square.setToNormal();
-            return 2;
-        } else if (square.getColor() == Constants.TW_COLOR){
-            square.setToNormal();
-            return 3;
+    private void highlightSquares(MouseEvent event){
+        int row = -1;
+        int col = -1;
+        int boardDim = this.getWidth();
+        if (event.getY() < boardDim && event.getY() > 0
+                && event.getX() > 0 && event.getX() < boardDim) {
+            col = (int) (event.getX() / Constants.SQUARE_DIM);
+            row = (int) (event.getY() / Constants.SQUARE_DIM);
         }
-        return 1;
-    }
-
-    /**
-     * scores each word that is detected
-     * calls on both Bonus methods
-     * clears the wordTiles array if
-     * @param word word that was detected
-     * @param words arraylist of words to be checked against bst
-     * @param wordTiles tiles that make up detected word
-     * @param score previous score
-     * @return the calculated score
-     */
-    private int calculateScore(String word, ArrayList<String> words,
-                               ArrayList<Tile> wordTiles, int score){
-        if (word.length() > 1 && this.isNotDuplicate(word, words) &&
-                this.checkWordNew(wordTiles)) {
-            words.add(word);
-            for (Tile tile: wordTiles) {
-                score += tile.getScore() + this.checkBonusLetters(tile);
-            }
-            for (Tile tile: wordTiles){
-                score = score * this.checkBonusWords(tile);
-            }
-        } else{
-            wordTiles.clear();
+        if (row == this.highlightedRow && col == this.highlightedCol){
+            return;
+        }
+        if (this.highlightedRow >= 0){
+            this.gameSquareBoard[this.highlightedRow][this.highlightedCol].resetColor();
+        }
+        if (row >= 0){
+            this.gameSquareBoard[row][col].changeGlow();
         }
-        return score;
+        this.highlightedRow = row;
+        this.highlightedCol = col;
     }
 }
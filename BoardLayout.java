@@ -0,0 +1,242 @@
+package indy;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * BoardLayout is the size of a board and where its premium squares are
+ * Each square has one premium type stored as a byte, and the multipliers
+ * of every type are looked up in small tables, so scoring is array reads
+ * instead of comparing square colors. A layout never changes, so one
+ * layout is shared by every board that uses it: layouts are looked up by
+ * name with get, which only builds or loads each one once
+ * Layouts are written as text, one line per row and one character per
+ * square: '.' for none, 'd' double letter, 't' triple letter, 'D' double
+ * word, 'T' triple word and '*' for a center square with no premium, e.g.
+ * the lines of SMALL below. Lines starting with # are skipped
+ */
+public class BoardLayout {
+    public static final byte NONE = 0;
+    public static final byte DOUBLE_LETTER = 1;
+    public static final byte TRIPLE_LETTER = 2;
+    public static final byte DOUBLE_WORD = 3;
+    public static final byte TRIPLE_WORD = 4;
+    //the middle square, colored differently but with no premium
+    public static final byte CENTER = 5;
+
+    //multipliers of each premium type, indexed by the type
+    private static final int[] LETTER_MULTIPLIERS = {1, 2, 3, 1, 1, 1};
+    private static final int[] WORD_MULTIPLIERS = {1, 1, 1, 2, 3, 1};
+    //character of each premium type in a layout file, indexed by the type
+    private static final String SYMBOLS = ".dtDT*";
+
+    //every layout made so far, by name, so each is only built once
+    private static final ConcurrentHashMap<String, BoardLayout> LAYOUTS = new ConcurrentHashMap<>();
+
+    /**
+     * the 9x9 board the game has always used
+     */
+    public static final BoardLayout SMALL = register(parse("small", Arrays.asList(
+            "T...T...T",
+            ".t.....t.",
+            "..d.D.d..",
+            "...d.d...",
+            "T.D.*.D.T",
+            "...d.d...",
+            "..d.D.d..",
+            ".t.....t.",
+            "T...T...T")));
+
+    /**
+     * the 15x15 board of the official game, its center is a double word
+     */
+    public static final BoardLayout STANDARD = register(parse("standard", Arrays.asList(
+            "T..d...T...d..T",
+            ".D...t...t...D.",
+            "..D...d.d...D..",
+            "d..D...d...D..d",
+            "....D.....D....",
+            ".t...t...t...t.",
+            "..d...d.d...d..",
+            "T..d...D...d..T",
+            "..d...d.d...d..",
+            ".t...t...t...t.",
+            "....D.....D....",
+            "d..D...d...D..d",
+            "..D...d.d...D..",
+            ".D...t...t...D.",
+            "T..d...T...d..T")));
+
+    /**
+     * a 21x21 board for longer games, with the same kinds of premium squares
+     */
+    public static final BoardLayout SUPER = register(parse("super", Arrays.asList(
+            "T...d.....T.....d...T",
+            ".D.....t.....t.....D.",
+            "..D......d.d......D..",
+            "...D..d.......d..D...",
+            "d...D.....d.....D...d",
+            ".....t...t.t...t.....",
+            "...d..d.......d..d...",
+            ".t.....D.....D.....t.",
+            "........d...d........",
+            "..d..t...t.t...t..d..",
+            "T...d.....D.....d...T",
+            "..d..t...t.t...t..d..",
+            "........d...d........",
+            ".t.....D.....D.....t.",
+            "...d..d.......d..d...",
+            ".....t...t.t...t.....",
+            "d...D.....d.....D...d",
+            "...D..d.......d..D...",
+            "..D......d.d......D..",
+            ".D.....t.....t.....D.",
+            "T...d.....T.....d...T")));
+
+    private String name;
+    private int size;
+    private byte[] premiums;
+
+    /**
+     * constructor for boardLayout
+     * @param myName name the layout is found by, see get
+     * @param mySize number of rows and columns
+     * @param myPremiums premium type of each square, row by row
+     */
+    public BoardLayout(String myName, int mySize, byte[] myPremiums){
+        if (myPremiums.length != mySize * mySize){
+            throw new IllegalArgumentException("a " + mySize + "x" + mySize + " layout needs "
+                    + mySize * mySize + " squares, not " + myPremiums.length);
+        }
+        this.name = myName;
+        this.size = mySize;
+        this.premiums = myPremiums.clone();
+    }
+
+    /**
+     * adds a layout to the layouts found by get
+     * @param layout layout
+     * @return the same layout
+     */
+    private static BoardLayout register(BoardLayout layout){
+        LAYOUTS.put(layout.name, layout);
+        return layout;
+    }
+
+    /**
+     * finds a layout by name, building it only the first time it is asked for
+     * every game of the same variant gets the same layout
+     * @param name "small", "standard", "super", or the path of a layout file
+     * @return layout
+     */
+    public static BoardLayout get(String name) throws IOException {
+        BoardLayout layout = LAYOUTS.get(name);
+        if (layout == null){
+            //two threads may both load a new file, but only the first one is kept
+            BoardLayout loaded = load(new File(name));
+            layout = LAYOUTS.putIfAbsent(name, loaded);
+            if (layout == null){
+                layout = loaded;
+            }
+        }
+        return layout;
+    }
+
+    /**
+     * reads a layout file, use get to share the layout
+     * @param file layout file
+     * @return layout named after the file's path
+     */
+    public static BoardLayout load(File file) throws IOException {
+        try {
+            return parse(file.getPath(), Files.readAllLines(file.toPath(), StandardCharsets.UTF_8));
+        } catch (IllegalArgumentException e) {
+            throw new IOException(file + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * reads a layout written as text
+     * @param name name of the layout
+     * @param lines one line per row, lines that are empty or start with # are skipped
+     * @return layout
+     */
+    public static BoardLayout parse(String name, List<String> lines){
+        ArrayList<String> rows = new ArrayList<>();
+        for (String line : lines){
+            if (!line.trim().isEmpty() && !line.startsWith("#")){
+                rows.add(line.trim());
+            }
+        }
+        int size = rows.size();
+        if (size == 0){
+            throw new IllegalArgumentException("a layout needs at least one row");
+        }
+        byte[] premiums = new byte[size * size];
+        for (int row = 0; row < size; row++){
+            String line = rows.get(row);
+            if (line.length() != size){
+                throw new IllegalArgumentException("row " + row + " has " + line.length()
+                        + " squares, a " + size + "x" + size + " layout needs " + size);
+            }
+            for (int col = 0; col < size; col++){
+                int premium = SYMBOLS.indexOf(line.charAt(col));
+                if (premium < 0){
+                    throw new IllegalArgumentException("not a square: '" + line.charAt(col) + "'");
+                }
+                premiums[row * size + col] = (byte) premium;
+            }
+        }
+        return new BoardLayout(name, size, premiums);
+    }
+
+    /**
+     * accessor for the name the layout is found by
+     * @return name
+     */
+    public String getName(){
+        return this.name;
+    }
+
+    /**
+     * accessor for the number of rows and columns
+     * @return size
+     */
+    public int getSize(){
+        return this.size;
+    }
+
+    /**
+     * accessor for the premium type of a square
+     * @param row row number
+     * @param col column number
+     * @return NONE, DOUBLE_LETTER, TRIPLE_LETTER, DOUBLE_WORD, TRIPLE_WORD or CENTER
+     */
+    public byte getPremium(int row, int col){
+        return this.premiums[row * this.size + col];
+    }
+
+    /**
+     * letter multiplier of a premium type
+     * @param premium premium type
+     * @return 1, 2 or 3
+     */
+    public static int getLetterMultiplier(byte premium){
+        return LETTER_MULTIPLIERS[premium];
+    }
+
+    /**
+     * word multiplier of a premium type
+     * @param premium premium type
+     * @return 1, 2 or 3
+     */
+    public static int getWordMultiplier(byte premium){
+        return WORD_MULTIPLIERS[premium];
+    }
+}
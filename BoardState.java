@@ -0,0 +1,871 @@
+package indy;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * BoardState is the logical game board and has no graphics
+ * Holds the letter on each square, which tiles were placed this turn, the
+ * premium squares that have not been used yet and the cross-checks used by
+ * MoveGenerator. Board draws it and Tiles are moved on it through Board
+ */
+public class BoardState {
+    public static final char EMPTY = 0;
+    public static final int ALL_LETTERS = (1 << Dawg.ALPHABET_SIZE) - 1;
+
+    private int size;
+    private char[][] letters;
+    private boolean[][] blanks;
+    //squares with any tile, with a tile placed this turn, and with a scored tile
+    //scored is also the mask of used up premiums, since a premium is used once a tile is scored on it
+    private Bitboard occupied;
+    private Bitboard temporary;
+    private Bitboard scored;
+    //empty squares next to a scored tile, where MoveGenerator grows words from
+    private Bitboard anchors;
+    //squares of the tiles placed this turn as row * size + col, in the order they were placed
+    private int[] placed;
+    private int placedCount;
+    //which placed tiles reach a scored tile, see isPlacedConnected
+    private boolean[] connected;
+    //words found by the last check, kept as where they start and how long they are
+    //so that finding, scoring and looking them up never builds a string
+    private int[] wordStarts;
+    private boolean[] wordsAcross;
+    private int[] wordLengths;
+    private int wordCount;
+    //premium squares, a premium is used up once a tile is scored on it
+    private BoardLayout layout;
+    //letters a new tile can be on each square, bits 0-25 for A-Z
+    //horiz is for words read across, so it checks the word down through the square
+    private int[][] horizCrossChecks;
+    private int[][] vertCrossChecks;
+    //score of the tiles in the word through a square, -1 if there is no such word
+    private int[][] horizCrossScores;
+    private int[][] vertCrossScores;
+
+    /**
+     * constructor for boardState, creates an empty board with the small layout
+     */
+    public BoardState(){
+        this(BoardLayout.SMALL);
+    }
+
+    /**
+     * constructor for boardState, creates an empty board
+     * @param myLayout size and premium squares of the board, shared with other boards
+     */
+    public BoardState(BoardLayout myLayout){
+        this.size = myLayout.getSize();
+        this.letters = new char[this.size][this.size];
+        this.blanks = new boolean[this.size][this.size];
+        this.occupied = new Bitboard(this.size);
+        this.temporary = new Bitboard(this.size);
+        this.scored = new Bitboard(this.size);
+        this.anchors = new Bitboard(this.size);
+        this.placed = new int[this.size * this.size];
+        this.connected = new boolean[this.size * this.size];
+        this.wordStarts = new int[2 * this.size * this.size];
+        this.wordsAcross = new boolean[2 * this.size * this.size];
+        this.wordLengths = new int[2 * this.size * this.size];
+        this.layout = myLayout;
+        this.setupCrossChecks();
+    }
+
+    /**
+     * constructor for a copy of another board, e.g. to search it on another
+     * thread while the original keeps changing
+     * @param other board to copy
+     */
+    public BoardState(BoardState other){
+        this.size = other.size;
+        this.letters = copy(other.letters);
+        this.blanks = new boolean[this.size][];
+        for (int i = 0; i < this.size; i++){
+            this.blanks[i] = other.blanks[i].clone();
+        }
+        this.occupied = new Bitboard(other.occupied);
+        this.temporary = new Bitboard(other.temporary);
+        this.scored = new Bitboard(other.scored);
+        this.anchors = new Bitboard(other.anchors);
+        this.placed = other.placed.clone();
+        this.placedCount = other.placedCount;
+        this.connected = new boolean[this.size * this.size];
+        this.wordStarts = new int[2 * this.size * this.size];
+        this.wordsAcross = new boolean[2 * this.size * this.size];
+        this.wordLengths = new int[2 * this.size * this.size];
+        this.layout = other.layout;
+        this.horizCrossChecks = copy(other.horizCrossChecks);
+        this.vertCrossChecks = copy(other.vertCrossChecks);
+        this.horizCrossScores = copy(other.horizCrossScores);
+        this.vertCrossScores = copy(other.vertCrossScores);
+    }
+
+    /**
+     * copies a 2D array
+     * @param array array to copy
+     * @return copy of every row
+     */
+    private static int[][] copy(int[][] array){
+        int[][] result = new int[array.length][];
+        for (int i = 0; i < array.length; i++){
+            result[i] = array[i].clone();
+        }
+        return result;
+    }
+
+    /**
+     * copies a 2D array
+     * @param array array to copy
+     * @return copy of every row
+     */
+    private static char[][] copy(char[][] array){
+        char[][] result = new char[array.length][];
+        for (int i = 0; i < array.length; i++){
+            result[i] = array[i].clone();
+        }
+        return result;
+    }
+
+    /**
+     * on an empty board every letter fits everywhere and no square has a word through it
+     */
+    private void setupCrossChecks(){
+        this.horizCrossChecks = new int[this.size][this.size];
+        this.vertCrossChecks = new int[this.size][this.size];
+        this.horizCrossScores = new int[this.size][this.size];
+        this.vertCrossScores = new int[this.size][this.size];
+        for (int i = 0; i < this.size; i++){
+            Arrays.fill(this.horizCrossChecks[i], ALL_LETTERS);
+            Arrays.fill(this.vertCrossChecks[i], ALL_LETTERS);
+            Arrays.fill(this.horizCrossScores[i], -1);
+            Arrays.fill(this.vertCrossScores[i], -1);
+        }
+    }
+
+    /**
+     * accessor for the number of rows and columns
+     * @return size
+     */
+    public int getSize(){
+        return this.size;
+    }
+
+    /**
+     * accessor for the letter on a square, including tiles placed this turn
+     * @param row row number
+     * @param col column number
+     * @return letter, or EMPTY
+     */
+    public char getLetter(int row, int col){
+        return this.letters[row][col];
+    }
+
+    /**
+     * accessor for the letter of a scored tile
+     * @param row row number
+     * @param col column number
+     * @return letter, or EMPTY if the square is empty or only has a tile placed this turn
+     */
+    public char getFinalLetter(int row, int col){
+        if (this.temporary.get(row, col)){
+            return EMPTY;
+        }
+        return this.letters[row][col];
+    }
+
+    /**
+     * accessor for the score of the tile on a square, 0 for blanks and empty squares
+     * @param row row number
+     * @param col column number
+     * @return score of the tile
+     */
+    public int getTileScore(int row, int col){
+        if (this.letters[row][col] == EMPTY || this.blanks[row][col]){
+            return 0;
+        }
+        return LetterValues.getScore(this.letters[row][col]);
+    }
+
+    /**
+     * accessor for the score of a scored tile, 0 for blanks and empty squares
+     * @param row row number
+     * @param col column number
+     * @return score of the tile
+     */
+    public int getFinalScore(int row, int col){
+        if (this.temporary.get(row, col)){
+            return 0;
+        }
+        return this.getTileScore(row, col);
+    }
+
+    /**
+     * checks if the tile on a square was placed this turn
+     * @param row row number
+     * @param col column number
+     * @return true if temporary
+     */
+    public boolean isTemporary(int row, int col){
+        return this.temporary.get(row, col);
+    }
+
+    /**
+     * checks if the tile on a square is a blank
+     * @param row row number
+     * @param col column number
+     * @return true if blank
+     */
+    public boolean isBlank(int row, int col){
+        return this.blanks[row][col];
+    }
+
+    /**
+     * accessor for the layout of premium squares
+     * @return layout
+     */
+    public BoardLayout getLayout(){
+        return this.layout;
+    }
+
+    /**
+     * premium a new tile on this square would get
+     * @param row row number
+     * @param col column number
+     * @return premium type from BoardLayout, NONE once a tile has been scored on it
+     */
+    public byte getPremium(int row, int col){
+        return this.scored.get(row, col) ? BoardLayout.NONE : this.layout.getPremium(row, col);
+    }
+
+    /**
+     * letter multiplier a new tile on this square would get
+     * @param row row number
+     * @param col column number
+     * @return 3 for triple letter, 2 for double letter, otherwise 1
+     */
+    public int getLetterMultiplier(int row, int col){
+        return BoardLayout.getLetterMultiplier(this.getPremium(row, col));
+    }
+
+    /**
+     * word multiplier a new tile on this square would get
+     * @param row row number
+     * @param col column number
+     * @return 3 for triple word, 2 for double word, otherwise 1
+     */
+    public int getWordMultiplier(int row, int col){
+        return BoardLayout.getWordMultiplier(this.getPremium(row, col));
+    }
+
+    /**
+     * checks if there are no tiles on the board at all
+     * @return true if empty
+     */
+    public boolean isEmpty(){
+        return this.occupied.isEmpty();
+    }
+
+    /**
+     * checks if at least one neighboring square has a tile
+     * @param row row number
+     * @param col column number
+     * @return true if a tile is above, below, left or right of the square
+     */
+    public boolean hasNeighboringTile(int row, int col){
+        return this.occupied.hasNeighbor(row, col);
+    }
+
+    /**
+     * puts a tile on a square for this turn
+     * @param row row number
+     * @param col column number
+     * @param letter letter of the tile, the letter chosen for a blank
+     * @param blank true if the tile is a blank
+     */
+    public void placeTile(int row, int col, char letter, boolean blank){
+        if (!this.temporary.get(row, col)){
+            this.placed[this.placedCount++] = row * this.size + col;
+        }
+        this.letters[row][col] = letter;
+        this.blanks[row][col] = blank;
+        this.temporary.set(row, col);
+        this.occupied.set(row, col);
+    }
+
+    /**
+     * takes a tile placed this turn off a square, scored tiles stay
+     * @param row row number
+     * @param col column number
+     */
+    public void removeTile(int row, int col){
+        if (this.temporary.get(row, col)){
+            this.letters[row][col] = EMPTY;
+            this.blanks[row][col] = false;
+            this.temporary.clear(row, col);
+            this.occupied.clear(row, col);
+            //keeps the other placed tiles in order
+            int square = row * this.size + col;
+            int k = 0;
+            while (this.placed[k] != square){
+                k++;
+            }
+            System.arraycopy(this.placed, k + 1, this.placed, k, this.placedCount - k - 1);
+            this.placedCount--;
+        }
+    }
+
+    /**
+     * takes every tile placed this turn off the board
+     */
+    public void clearTemporary(){
+        while (this.placedCount > 0){
+            this.removeTile(this.getPlacedRow(this.placedCount - 1), this.getPlacedCol(this.placedCount - 1));
+        }
+    }
+
+    /**
+     * accessor for the number of tiles placed this turn
+     * @return placed tile count
+     */
+    public int getPlacedCount(){
+        return this.placedCount;
+    }
+
+    /**
+     * accessor for the row of a tile placed this turn
+     * @param index 0 to getPlacedCount() - 1, in the order the tiles were placed
+     * @return row number
+     */
+    public int getPlacedRow(int index){
+        return this.placed[index] / this.size;
+    }
+
+    /**
+     * accessor for the column of a tile placed this turn
+     * @param index 0 to getPlacedCount() - 1, in the order the tiles were placed
+     * @return column number
+     */
+    public int getPlacedCol(int index){
+        return this.placed[index] % this.size;
+    }
+
+    /**
+     * checks that the tiles placed this turn could have been put down one at a
+     * time, each next to a tile already there, the rule Tile enforces when dragging
+     * so every placed tile has to reach a scored tile through other placed tiles,
+     * or on an empty board they all have to touch each other
+     * @return true if connected
+     */
+    public boolean isPlacedConnected(){
+        if (this.placedCount == 0){
+            return true;
+        }
+        int reached = 0;
+        for (int k = 0; k < this.placedCount; k++){
+            int row = this.getPlacedRow(k);
+            int col = this.getPlacedCol(k);
+            this.connected[k] = this.scored.isEmpty() ? k == 0 : this.scored.hasNeighbor(row, col);
+            if (this.connected[k]){
+                reached++;
+            }
+        }
+        //spreads from the tiles that are connected to the placed tiles next to them
+        boolean changed = true;
+        while (changed && reached < this.placedCount){
+            changed = false;
+            for (int k = 0; k < this.placedCount; k++){
+                if (this.connected[k]){
+                    continue;
+                }
+                for (int m = 0; m < this.placedCount && !this.connected[k]; m++){
+                    int rowGap = Math.abs(this.getPlacedRow(k) - this.getPlacedRow(m));
+                    int colGap = Math.abs(this.getPlacedCol(k) - this.getPlacedCol(m));
+                    if (this.connected[m] && rowGap + colGap == 1){
+                        this.connected[k] = true;
+                        reached++;
+                        changed = true;
+                    }
+                }
+            }
+        }
+        return reached == this.placedCount;
+    }
+
+    /**
+     * checks if a square is an anchor, an empty square next to a scored tile,
+     * which every new word has to cover; on an empty board every square is one
+     * tiles placed this turn do not count, like in MoveGenerator
+     * @param row row number
+     * @param col column number
+     * @return true if anchor
+     */
+    public boolean isAnchor(int row, int col){
+        return this.scored.isEmpty() || this.anchors.get(row, col);
+    }
+
+    /**
+     * finds and scores the words that use a tile placed this turn, starting from
+     * those tiles instead of scanning every row and column, so the cost grows with
+     * the number of tiles placed rather than the size of the board
+     * finds the same words as checkHorizWords and checkVertWords together
+     * @param words list that the words found are added to, across words first
+     * @return score of the words found
+     */
+    public int checkPlacedWords(List<String> words){
+        int score = this.scorePlacedWords();
+        this.addWords(words);
+        return score;
+    }
+
+    /**
+     * same as checkPlacedWords without making any strings or lists, so it creates
+     * no garbage; the words are read with getWordCount, findInvalidWord and getWord
+     * @return score of the words found
+     */
+    public int scorePlacedWords(){
+        this.wordCount = 0;
+        int score = 0;
+        for (int k = 0; k < this.placedCount; k++){
+            score += this.checkPlacedWord(this.getPlacedRow(k), this.getPlacedCol(k), 0, 1);
+        }
+        for (int k = 0; k < this.placedCount; k++){
+            score += this.checkPlacedWord(this.getPlacedRow(k), this.getPlacedCol(k), 1, 0);
+        }
+        return score;
+    }
+
+    /**
+     * accessor for the number of words found by the last check
+     * @return word count
+     */
+    public int getWordCount(){
+        return this.wordCount;
+    }
+
+    /**
+     * spells out a word found by the last check, only needed to show or log it
+     * @param index 0 to getWordCount() - 1
+     * @return word
+     */
+    public String getWord(int index){
+        int row = this.wordStarts[index] / this.size;
+        int col = this.wordStarts[index] % this.size;
+        char[] word = new char[this.wordLengths[index]];
+        for (int k = 0; k < word.length; k++){
+            word[k] = this.wordsAcross[index] ? this.letters[row][col + k] : this.letters[row + k][col];
+        }
+        return new String(word);
+    }
+
+    /**
+     * adds every word found by the last check to a list
+     * @param words list the words are added to
+     */
+    public void addWords(List<String> words){
+        for (int i = 0; i < this.wordCount; i++){
+            words.add(this.getWord(i));
+        }
+    }
+
+    /**
+     * looks up the words found by the last check by following their letters
+     * on the board through the dawg
+     * @param dawg lexicon
+     * @return index of the first word not in the lexicon, -1 if they are all words
+     */
+    public int findInvalidWord(Dawg dawg){
+        for (int i = 0; i < this.wordCount; i++){
+            int row = this.wordStarts[i] / this.size;
+            int col = this.wordStarts[i] % this.size;
+            int node = Dawg.ROOT;
+            for (int k = 0; k < this.wordLengths[i] && node != Dawg.NONE; k++){
+                //a blank that has no letter yet is not a letter
+                int letter = (this.wordsAcross[i] ? this.letters[row][col + k] : this.letters[row + k][col]) - 'A';
+                node = letter >= 0 && letter < Dawg.ALPHABET_SIZE ? dawg.child(node, letter) : Dawg.NONE;
+            }
+            if (node == Dawg.NONE || !dawg.isTerminal(node)){
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * scores the word through a tile placed this turn in one direction
+     * a word with several new tiles is only scored from its first one
+     * @param row row of the new tile
+     * @param col column of the new tile
+     * @param rowStep 1 for a vertical word, otherwise 0
+     * @param colStep 1 for a horizontal word, otherwise 0
+     * @return score of the word, 0 if there is none or another new tile scores it
+     */
+    private int checkPlacedWord(int row, int col, int rowStep, int colStep){
+        int startRow = row;
+        int startCol = col;
+        while (startRow - rowStep >= 0 && startCol - colStep >= 0
+                && this.letters[startRow - rowStep][startCol - colStep] != EMPTY){
+            startRow -= rowStep;
+            startCol -= colStep;
+            if (this.temporary.get(startRow, startCol)){
+                return 0;
+            }
+        }
+        int endRow = row;
+        int endCol = col;
+        while (endRow + rowStep < this.size && endCol + colStep < this.size
+                && this.letters[endRow + rowStep][endCol + colStep] != EMPTY){
+            endRow += rowStep;
+            endCol += colStep;
+        }
+        int length = (endRow - startRow) + (endCol - startCol) + 1;
+        return this.scoreWord(startRow, startCol, rowStep, colStep, length);
+    }
+
+    /**
+     * checks each row for words that use a tile placed this turn
+     * @param words list that the words found are added to
+     * @return score of the words found
+     */
+    public int checkHorizWords(List<String> words){
+        this.wordCount = 0;
+        int score = 0;
+        for (int i = 0; i < this.size; i++){
+            int j = 0;
+            while (j < this.size){
+                if (this.letters[i][j] == EMPTY){
+                    j++;
+                    continue;
+                }
+                int start = j;
+                while (j < this.size && this.letters[i][j] != EMPTY){
+                    j++;
+                }
+                score += this.scoreWord(i, start, 0, 1, j - start);
+            }
+        }
+        this.addWords(words);
+        return score;
+    }
+
+    /**
+     * Very similar to checkHorizWords, except for vertical words
+     * @param words list that the words found are added to
+     * @return score of the words found
+     */
+    public int checkVertWords(List<String> words){
+        this.wordCount = 0;
+        int score = 0;
+        for (int j = 0; j < this.size; j++){
+            int i = 0;
+            while (i < this.size){
+                if (this.letters[i][j] == EMPTY){
+                    i++;
+                    continue;
+                }
+                int start = i;
+                while (i < this.size && this.letters[i][j] != EMPTY){
+                    i++;
+                }
+                score += this.scoreWord(start, j, 1, 0, i - start);
+            }
+        }
+        this.addWords(words);
+        return score;
+    }
+
+    /**
+     * scores a run of tiles if it is a word that uses a tile placed this turn,
+     * and records the word
+     * premiums only count under new tiles, and each word is multiplied on its own
+     * @param row row of the first letter
+     * @param col column of the first letter
+     * @param rowStep 1 for a vertical word, otherwise 0
+     * @param colStep 1 for a horizontal word, otherwise 0
+     * @param length number of tiles in the run
+     * @return score of the word, 0 if it does not count
+     */
+    private int scoreWord(int row, int col, int rowStep, int colStep, int length){
+        if (length < 2){
+            return 0;
+        }
+        int sum = 0;
+        int multiplier = 1;
+        boolean isNew = false;
+        for (int k = 0; k < length; k++){
+            int i = row + k * rowStep;
+            int j = col + k * colStep;
+            if (this.temporary.get(i, j)){
+                isNew = true;
+                byte premium = this.layout.getPremium(i, j);
+                sum += this.getTileScore(i, j) * BoardLayout.getLetterMultiplier(premium);
+                multiplier *= BoardLayout.getWordMultiplier(premium);
+            } else {
+                sum += this.getTileScore(i, j);
+            }
+        }
+        if (!isNew){
+            return 0;
+        }
+        this.wordStarts[this.wordCount] = row * this.size + col;
+        this.wordsAcross[this.wordCount] = colStep == 1;
+        this.wordLengths[this.wordCount] = length;
+        this.wordCount++;
+        return sum * multiplier;
+    }
+
+    /**
+     * makes every tile placed this turn permanent
+     * premium squares under them are used up and cross-checks next to them are updated
+     * @param dawg lexicon the cross-checks are based on
+     */
+    public void commit(Dawg dawg){
+        for (int k = 0; k < this.placedCount; k++){
+            int row = this.getPlacedRow(k);
+            int col = this.getPlacedCol(k);
+            this.temporary.clear(row, col);
+            this.scored.set(row, col);
+        }
+        //tiles that make one unbroken word share its line, so its ends are only updated once
+        //tiles in an L, with gaps or from a whole saved board need both lines of every tile
+        boolean across = this.isPlacedInLine(true);
+        boolean down = !across && this.isPlacedInLine(false);
+        for (int k = 0; k < this.placedCount; k++){
+            this.updateCrossChecks(this.getPlacedRow(k), this.getPlacedCol(k), dawg,
+                    k == 0 || !down, k == 0 || !across);
+        }
+        this.anchors.setToNeighbors(this.scored);
+        this.placedCount = 0;
+    }
+
+    /**
+     * works out every cross-check again from the tiles on the board, e.g. after
+     * the lexicon they came from was replaced by a new version
+     * @param dawg lexicon the cross-checks are based on from now on
+     */
+    public void rebuildCrossChecks(Dawg dawg){
+        this.setupCrossChecks();
+        for (int row = 0; row < this.size; row++){
+            for (int col = 0; col < this.size; col++){
+                if (this.scored.get(row, col)){
+                    this.updateCrossChecks(row, col, dawg, true, true);
+                }
+            }
+        }
+    }
+
+    /**
+     * checks if the tiles placed this turn are in one row or column with no
+     * empty square between them, so they are all in the same word along it
+     * @param across true to check for a row, false for a column
+     * @return true if they are, false if there are fewer than two
+     */
+    private boolean isPlacedInLine(boolean across){
+        if (this.placedCount < 2){
+            return false;
+        }
+        int line = across ? this.getPlacedRow(0) : this.getPlacedCol(0);
+        int first = this.size;
+        int last = -1;
+        for (int k = 0; k < this.placedCount; k++){
+            if ((across ? this.getPlacedRow(k) : this.getPlacedCol(k)) != line){
+                return false;
+            }
+            int along = across ? this.getPlacedCol(k) : this.getPlacedRow(k);
+            first = Math.min(first, along);
+            last = Math.max(last, along);
+        }
+        for (int i = first + 1; i < last; i++){
+            if ((across ? this.getFinalLetter(line, i) : this.getFinalLetter(i, line)) == EMPTY){
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * checks that another board has the same tiles, and the same cross-checks and
+     * cross scores on every empty square, e.g. a board rebuilt from a snapshot against the one played on
+     * squares with a tile are skipped, they keep whatever they had before it was put there
+     * @param other board of the same size
+     * @return true if they all match
+     */
+    public boolean hasSameCrossChecks(BoardState other){
+        if (other.size != this.size){
+            return false;
+        }
+        for (int row = 0; row < this.size; row++){
+            for (int col = 0; col < this.size; col++){
+                char letter = this.getFinalLetter(row, col);
+                if (letter != other.getFinalLetter(row, col)){
+                    return false;
+                }
+                if (letter == EMPTY && (this.horizCrossChecks[row][col] != other.horizCrossChecks[row][col]
+                        || this.vertCrossChecks[row][col] != other.vertCrossChecks[row][col]
+                        || this.horizCrossScores[row][col] != other.horizCrossScores[row][col]
+                        || this.vertCrossScores[row][col] != other.vertCrossScores[row][col])){
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * accessor for a square's cross-check
+     * @param row row number
+     * @param col column number
+     * @param horizontal true for a word read across, false for a word read down
+     * @return bit mask of the letters that keep the word through the square valid
+     */
+    public int getCrossCheck(int row, int col, boolean horizontal){
+        return horizontal ? this.horizCrossChecks[row][col] : this.vertCrossChecks[row][col];
+    }
+
+    /**
+     * accessor for the score of the tiles in the word through a square
+     * @param row row number
+     * @param col column number
+     * @param horizontal true for a word read across, false for a word read down
+     * @return score before the new tile and premiums, -1 if no word goes through it
+     */
+    public int getCrossScore(int row, int col, boolean horizontal){
+        return horizontal ? this.horizCrossScores[row][col] : this.vertCrossScores[row][col];
+    }
+
+    /**
+     * updates cross-checks after a tile is scored
+     * only the empty squares at the ends of the lines through it can change
+     * @param row row of the new tile
+     * @param col column of the new tile
+     * @param dawg lexicon the cross-checks are based on
+     * @param column true to update the ends of the column through the tile
+     * @param line true to update the ends of the row through the tile
+     */
+    private void updateCrossChecks(int row, int col, Dawg dawg, boolean column, boolean line){
+        //ends of the column through the tile constrain words read across
+        if (column){
+            this.updateColumnEnds(row, col, dawg);
+        }
+        //ends of the row through the tile constrain words read down
+        if (line){
+            this.updateRowEnds(row, col, dawg);
+        }
+    }
+
+    /**
+     * updates the cross-checks at the ends of the column through a tile
+     * @param row row of the tile
+     * @param col column of the tile
+     * @param dawg lexicon the cross-checks are based on
+     */
+    private void updateColumnEnds(int row, int col, Dawg dawg){
+        int top = row;
+        while (top > 0 && this.getFinalLetter(top - 1, col) != EMPTY){
+            top--;
+        }
+        int bottom = row;
+        while (bottom < this.size - 1 && this.getFinalLetter(bottom + 1, col) != EMPTY){
+            bottom++;
+        }
+        this.setCrossCheck(top - 1, col, true, dawg);
+        this.setCrossCheck(bottom + 1, col, true, dawg);
+    }
+
+    /**
+     * updates the cross-checks at the ends of the row through a tile
+     * @param row row of the tile
+     * @param col column of the tile
+     * @param dawg lexicon the cross-checks are based on
+     */
+    private void updateRowEnds(int row, int col, Dawg dawg){
+        int left = col;
+        while (left > 0 && this.getFinalLetter(row, left - 1) != EMPTY){
+            left--;
+        }
+        int right = col;
+        while (right < this.size - 1 && this.getFinalLetter(row, right + 1) != EMPTY){
+            right++;
+        }
+        this.setCrossCheck(row, left - 1, false, dawg);
+        this.setCrossCheck(row, right + 1, false, dawg);
+    }
+
+    /**
+     * works out the cross-check of one empty square from the tiles on either side of it
+     * @param row row number, may be off the board
+     * @param col column number, may be off the board
+     * @param horizontal true to check the word down through the square
+     * @param dawg lexicon
+     */
+    private void setCrossCheck(int row, int col, boolean horizontal, Dawg dawg){
+        if (row < 0 || col < 0 || row >= this.size || col >= this.size
+                || this.getFinalLetter(row, col) != EMPTY){
+            return;
+        }
+        //the word through the square runs down for horizontal words and across for vertical ones
+        int rowStep = horizontal ? 1 : 0;
+        int colStep = horizontal ? 0 : 1;
+        int firstRow = row;
+        int firstCol = col;
+        while (firstRow - rowStep >= 0 && firstCol - colStep >= 0
+                && this.getFinalLetter(firstRow - rowStep, firstCol - colStep) != EMPTY){
+            firstRow -= rowStep;
+            firstCol -= colStep;
+        }
+
+        //walk the letters before the square, then try each letter with the ones after it
+        int sum = 0;
+        int node = Dawg.ROOT;
+        int i = firstRow;
+        int j = firstCol;
+        while (i != row || j != col){
+            if (node != Dawg.NONE){
+                node = dawg.child(node, this.getFinalLetter(i, j) - 'A');
+            }
+            sum += this.getFinalScore(i, j);
+            i += rowStep;
+            j += colStep;
+        }
+        int afterRow = row + rowStep;
+        int afterCol = col + colStep;
+        int lastRow = row;
+        int lastCol = col;
+        while (lastRow + rowStep < this.size && lastCol + colStep < this.size
+                && this.getFinalLetter(lastRow + rowStep, lastCol + colStep) != EMPTY){
+            lastRow += rowStep;
+            lastCol += colStep;
+            sum += this.getFinalScore(lastRow, lastCol);
+        }
+
+        int mask = 0;
+        if (firstRow == row && firstCol == col && lastRow == row && lastCol == col){
+            mask = ALL_LETTERS;
+            sum = -1;
+        } else if (node != Dawg.NONE){
+            int possible = dawg.getLetterMask(node);
+            while (possible != 0){
+                int letter = Integer.numberOfTrailingZeros(possible);
+                possible &= possible - 1;
+                int next = dawg.child(node, letter);
+                i = afterRow;
+                j = afterCol;
+                while (next != Dawg.NONE && (i != lastRow + rowStep || j != lastCol + colStep)){
+                    next = dawg.child(next, this.getFinalLetter(i, j) - 'A');
+                    i += rowStep;
+                    j += colStep;
+                }
+                if (next != Dawg.NONE && dawg.isTerminal(next)){
+                    mask |= 1 << letter;
+                }
+            }
+        }
+        if (horizontal){
+            this.horizCrossChecks[row][col] = mask;
+            this.horizCrossScores[row][col] = sum;
+        } else {
+            this.vertCrossChecks[row][col] = mask;
+            this.vertCrossScores[row][col] = sum;
+        }
+    }
+}
@@ -1,11 +1,12 @@
 package indy;
 
 import javafx.scene.paint.Color;
+import javafx.scene.text.Font;
 
 public class Constants {
-    public static final int SCENE_WIDTH = 540;
-    public static final int SCENE_HEIGHT = 540;
     public static final int SQUARE_DIM = 60;
+    //layout of new games: small (9x9), standard (15x15), super (21x21) or a layout file
+    public static final String BOARD_LAYOUT = "small";
     public static final Color TILE_COLOR = Color.BISQUE;
     public static final int LETTER_OFFSET = 12;
     public static final int SCORE_XOFFSET = 48;
@@ -15,8 +16,14 @@ public class Constants {
     public static final int SCORE_SIZE = 12;
     public static final String BLANK_BACKGROUND = "-fx-background-color: #63c8ff";
     public static final int DISPLAY_FONT = 40;
+    //fonts are immutable, so every tile and message shares these
+    public static final Font TILE_FONT = new Font(TILE_TEXT_SIZE);
+    public static final Font SCORE_FONT = new Font(SCORE_TEXT_SIZE);
+    public static final Font MESSAGE_FONT = new Font(DISPLAY_FONT);
     public static final int SCORE_LABEL_X = 15;
     public static final int MOVE_BUTTON_OFFSET = 180;
+    public static final int HINT_BUTTON_OFFSET = 235;
+    public static final long HINT_BUDGET_MILLIS = 50;
     public static final Color SQUARE_COLOR = Color.BURLYWOOD;
     public static final Color HIGHLIGHT_COLOR = Color.AZURE;
     public static final Color DL_COLOR = Color.LIGHTSKYBLUE;
@@ -25,6 +32,18 @@ public class Constants {
     public static final Color TW_COLOR = Color.RED;
     public static final Color MID_COLOR = Color.PINK;
     public static final String DISPLAY_BACKGROUND = "-fx-background-color: #ff183e";
+    public static final boolean COMPUTER_OPPONENT = false;
+    public static final int COMPUTER_PLAYER = 2;
+    public static final String WORD_LIST_PATH = "src/indy/ScrabbleWords.txt";
+    public static final String WORD_SNAPSHOT_PATH = "src/indy/ScrabbleWords.dawg";
+    public static final String SAVE_PATH = "save";
+    public static final GameJournal.Sync SAVE_SYNC = GameJournal.Sync.EVERY_BATCH;
+    public static final long SAVE_SYNC_MILLIS = 1000;
+    public static final int SAVE_SNAPSHOT_INTERVAL = 10;
+    //largest part of the screen the window may take before the game is drawn smaller
+    public static final double MAX_SCREEN_FRACTION = 0.95;
+    //how often metrics are printed when turned on with -Dindy.metrics=true, 0 for never
+    public static final long METRICS_DUMP_MILLIS = 10000;
 
 
 
@@ -0,0 +1,354 @@
+package indy;
+
+import java.nio.IntBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Dawg is a minimized directed acyclic word graph of all valid words
+ * Words that share a prefix share the same path from the root, and words
+ * that share a suffix share the same nodes at the end, so the whole
+ * dictionary fits in three int arrays instead of one object per word
+ * A lookup follows one edge per letter, so it costs O(word length)
+ * The arrays are IntBuffers so that a dawg can be read in place from a
+ * memory mapped snapshot file, see DawgFile
+ */
+public class Dawg {
+    public static final int ROOT = 0;
+    public static final int NONE = -1;
+    public static final int ALPHABET_SIZE = 26;
+    private static final int TERMINAL_BIT = 1 << ALPHABET_SIZE;
+
+    //bits 0-25 mark which letters leave a node, bit 26 marks the end of a word
+    private IntBuffer nodeMasks;
+    //index into edgeTargets of a node's first outgoing edge
+    private IntBuffer firstEdges;
+    //target node of each edge, edges of a node are sorted by letter
+    private IntBuffer edgeTargets;
+
+    /**
+     * constructor for dawg, buffers come from Dawg.build or a snapshot file
+     * @param nodeMasks letter and terminal bits of each node
+     * @param firstEdges first edge of each node
+     * @param edgeTargets target node of each edge
+     */
+    Dawg(IntBuffer nodeMasks, IntBuffer firstEdges, IntBuffer edgeTargets){
+        this.nodeMasks = nodeMasks;
+        this.firstEdges = firstEdges;
+        this.edgeTargets = edgeTargets;
+    }
+
+    /**
+     * builds a minimized dawg from a sorted list of words
+     * suffixes are merged as soon as a word is finished (Daciuk's algorithm),
+     * so only the path of the last word is ever unminimized
+     * @param words words in ascending order, duplicates are skipped
+     * @return the finished dawg
+     */
+    public static Dawg build(List<String> words){
+        HashMap<BuildNode, BuildNode> register = new HashMap<>();
+        ArrayList<BuildNode> path = new ArrayList<>();
+        path.add(new BuildNode());
+        String previous = null;
+
+        for (String word : words) {
+            if (previous != null && word.compareTo(previous) <= 0) {
+                if (word.equals(previous)) {
+                    continue;
+                }
+                throw new IllegalArgumentException("words are not sorted: " + word);
+            }
+            //nodes past the shared prefix can no longer change, so merge them
+            int common = 0;
+            while (previous != null && common < word.length() && common < previous.length()
+                    && word.charAt(common) == previous.charAt(common)) {
+                common++;
+            }
+            minimize(path, register, common);
+
+            for (int i = common; i < word.length(); i++) {
+                int letter = word.charAt(i) - 'A';
+                if (letter < 0 || letter >= ALPHABET_SIZE) {
+                    throw new IllegalArgumentException("not a word: " + word);
+                }
+                BuildNode node = new BuildNode();
+                path.get(i).addChild(letter, node);
+                path.add(node);
+            }
+            path.get(word.length()).terminal = true;
+            previous = word;
+        }
+        minimize(path, register, 0);
+        return flatten(path.get(0));
+    }
+
+    /**
+     * replaces each node on the path below depth with an equivalent
+     * registered node, registering it if it is the first of its kind
+     * @param path nodes along the last added word
+     * @param register all minimized nodes
+     * @param depth number of nodes to keep on the path
+     */
+    private static void minimize(ArrayList<BuildNode> path,
+                                 HashMap<BuildNode, BuildNode> register, int depth){
+        for (int i = path.size() - 1; i > depth; i--) {
+            BuildNode node = path.remove(i);
+            BuildNode existing = register.putIfAbsent(node, node);
+            if (existing != null) {
+                path.get(i - 1).replaceLastChild(existing);
+            }
+        }
+    }
+
+    /**
+     * numbers the nodes breadth first and packs them into arrays
+     * @param root root of the minimized graph
+     * @return the packed dawg
+     */
+    private static Dawg flatten(BuildNode root){
+        ArrayList<BuildNode> order = new ArrayList<>();
+        root.id = 0;
+        order.add(root);
+        int edgeCount = 0;
+        for (int i = 0; i < order.size(); i++) {
+            BuildNode node = order.get(i);
+            edgeCount += node.childCount;
+            for (int j = 0; j < node.childCount; j++) {
+                BuildNode child = node.children[j];
+                if (child.id == NONE) {
+                    child.id = order.size();
+                    order.add(child);
+                }
+            }
+        }
+
+        int[] nodeMasks = new int[order.size()];
+        int[] firstEdges = new int[order.size()];
+        int[] edgeTargets = new int[edgeCount];
+        int edge = 0;
+        for (int i = 0; i < order.size(); i++) {
+            BuildNode node = order.get(i);
+            nodeMasks[i] = node.terminal ? node.mask | TERMINAL_BIT : node.mask;
+            firstEdges[i] = edge;
+            for (int j = 0; j < node.childCount; j++) {
+                edgeTargets[edge++] = node.children[j].id;
+            }
+        }
+        return new Dawg(IntBuffer.wrap(nodeMasks), IntBuffer.wrap(firstEdges),
+                IntBuffer.wrap(edgeTargets));
+    }
+
+    /**
+     * follows the edge for a letter out of a node
+     * @param node node to leave
+     * @param letter letter index, 0 for A through 25 for Z
+     * @return the node reached, or NONE if no word continues with that letter
+     */
+    public int child(int node, int letter){
+        int mask = this.nodeMasks.get(node);
+        int bit = 1 << letter;
+        if ((mask & bit) == 0) {
+            return NONE;
+        }
+        return this.edgeTargets.get(this.firstEdges.get(node) + Integer.bitCount(mask & (bit - 1)));
+    }
+
+    /**
+     * accessor for the letters that continue a word from a node
+     * @param node node to check
+     * @return bit mask, bit 0 for A through bit 25 for Z
+     */
+    public int getLetterMask(int node){
+        return this.nodeMasks.get(node) & ~TERMINAL_BIT;
+    }
+
+    /**
+     * checks if the path to a node spells a whole word
+     * @param node node to check
+     * @return true if a word ends at this node
+     */
+    public boolean isTerminal(int node){
+        return (this.nodeMasks.get(node) & TERMINAL_BIT) != 0;
+    }
+
+    /**
+     * checks if a word is in the dawg
+     * anything that is not an uppercase letter is never found
+     * @param word the word we are looking for
+     * @return true if valid
+     */
+    public boolean contains(CharSequence word){
+        int node = ROOT;
+        for (int i = 0; i < word.length() && node != NONE; i++) {
+            int letter = word.charAt(i) - 'A';
+            if (letter < 0 || letter >= ALPHABET_SIZE) {
+                return false;
+            }
+            node = this.child(node, letter);
+        }
+        return node != NONE && this.isTerminal(node);
+    }
+
+    /**
+     * checks a whole batch of words at once
+     * the path of nodes for the previous word is kept, so a word only follows
+     * edges past the prefix it shares with the word before it instead of
+     * starting again at the root; sorted batches like word lists share the most
+     * @param words the words we are looking for
+     * @return bitmap with bit i set if words.get(i) is valid
+     */
+    public BitSet containsAll(List<String> words){
+        BitSet valid = new BitSet(words.size());
+        //path[d] is the node after the first d letters of the previous word, NONE past a dead end
+        int[] path = new int[16];
+        path[0] = ROOT;
+        String previous = "";
+        int depth = 0;
+        for (int index = 0; index < words.size(); index++) {
+            String word = words.get(index);
+            int d = 0;
+            int shared = Math.min(depth, Math.min(previous.length(), word.length()));
+            while (d < shared && previous.charAt(d) == word.charAt(d)) {
+                d++;
+            }
+            int node = path[d];
+            while (d < word.length() && node != NONE) {
+                int letter = word.charAt(d) - 'A';
+                node = letter < 0 || letter >= ALPHABET_SIZE ? NONE : this.child(node, letter);
+                d++;
+                if (d == path.length) {
+                    path = Arrays.copyOf(path, 2 * path.length);
+                }
+                path[d] = node;
+            }
+            if (d == word.length() && node != NONE && this.isTerminal(node)) {
+                valid.set(index);
+            }
+            previous = word;
+            depth = d;
+        }
+        return valid;
+    }
+
+    /**
+     * finds the words that match a pattern, see PatternSearch
+     * the dawg is only walked as far as the stream is read
+     * @param pattern letters, '?' or ' ' for any letter and '*' for any letters, e.g. "?AT*"
+     * @param requiredLetters letters every word has to contain, e.g. "Q", "" for none
+     * @return lazy stream of matching words, in alphabetical order
+     */
+    public Stream<String> match(String pattern, String requiredLetters){
+        PatternSearch search = new PatternSearch(this, pattern, requiredLetters);
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(search,
+                Spliterator.ORDERED | Spliterator.DISTINCT | Spliterator.NONNULL), false);
+    }
+
+    /**
+     * accessor for the number of nodes
+     * @return node count
+     */
+    public int getNodeCount(){
+        return this.nodeMasks.limit();
+    }
+
+    /**
+     * accessor for the number of edges
+     * @return edge count
+     */
+    public int getEdgeCount(){
+        return this.edgeTargets.limit();
+    }
+
+    /**
+     * accessor for the node masks, used when writing a snapshot
+     * @return node masks
+     */
+    IntBuffer getNodeMasks(){
+        return this.nodeMasks.duplicate();
+    }
+
+    /**
+     * accessor for the first edge of each node, used when writing a snapshot
+     * @return first edges
+     */
+    IntBuffer getFirstEdges(){
+        return this.firstEdges.duplicate();
+    }
+
+    /**
+     * accessor for the edge targets, used when writing a snapshot
+     * @return edge targets
+     */
+    IntBuffer getEdgeTargets(){
+        return this.edgeTargets.duplicate();
+    }
+
+    /**
+     * mutable node used only while the dawg is being built
+     * equality is by terminal flag and children, which are already
+     * minimized, so two equal nodes accept exactly the same suffixes
+     */
+    private static class BuildNode {
+        private boolean terminal;
+        private int mask;
+        private BuildNode[] children = new BuildNode[2];
+        private int childCount;
+        private int id = NONE;
+
+        /**
+         * adds a child, letters arrive in ascending order
+         * @param letter letter index of the edge
+         * @param child node the edge leads to
+         */
+        private void addChild(int letter, BuildNode child){
+            if (this.childCount == this.children.length) {
+                BuildNode[] bigger = new BuildNode[this.childCount * 2];
+                System.arraycopy(this.children, 0, bigger, 0, this.childCount);
+                this.children = bigger;
+            }
+            this.children[this.childCount++] = child;
+            this.mask |= 1 << letter;
+        }
+
+        /**
+         * swaps the most recently added child for its registered equivalent
+         * @param child registered node
+         */
+        private void replaceLastChild(BuildNode child){
+            this.children[this.childCount - 1] = child;
+        }
+
+        @Override
+        public boolean equals(Object other){
+            if (!(other instanceof BuildNode)) {
+                return false;
+            }
+            BuildNode node = (BuildNode) other;
+            if (this.terminal != node.terminal || this.mask != node.mask) {
+                return false;
+            }
+            for (int i = 0; i < this.childCount; i++) {
+                if (this.children[i] != node.children[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public int hashCode(){
+            int hash = this.terminal ? this.mask | TERMINAL_BIT : this.mask;
+            for (int i = 0; i < this.childCount; i++) {
+                hash = 31 * hash + System.identityHashCode(this.children[i]);
+            }
+            return hash;
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package indy;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * DawgFile reads and writes precompiled dawg snapshots
+ * A snapshot is a small header followed by the three dawg arrays exactly as
+ * they are laid out in memory, so opening one is a memory map and no parsing,
+ * and every process that opens the same file shares one page cache copy
+ * Running main compiles a word list into a snapshot ahead of time
+ */
+public class DawgFile {
+    private static final int MAGIC = 0x44415747;
+    private static final int VERSION = 1;
+    //magic, version, node count, edge count, source length, source modified time
+    private static final int HEADER_BYTES = 4 * Integer.BYTES + 2 * Long.BYTES;
+
+    /**
+     * compiles a word list into a snapshot
+     * @param args word list path, then snapshot path
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("usage: DawgFile <word list> <snapshot>");
+            System.exit(1);
+        }
+        File wordList = new File(args[0]);
+        File snapshot = new File(args[1]);
+        long start = System.nanoTime();
+        Dawg dawg = Dawg.build(readWords(wordList));
+        write(dawg, snapshot, wordList);
+        System.out.println("wrote " + snapshot + ": " + dawg.getNodeCount() + " nodes, "
+                + dawg.getEdgeCount() + " edges in " + (System.nanoTime() - start) / 1000000 + " ms");
+    }
+
+    /**
+     * reads a word list, one word per line, sorted so it can go straight into Dawg.build
+     * @param wordList text file of words
+     * @return sorted words
+     */
+    public static List<String> readWords(File wordList) throws IOException {
+        ArrayList<String> words = new ArrayList<>(Files.readAllLines(wordList.toPath()));
+        //dawg is built from sorted words, the list normally already is
+        Collections.sort(words);
+        return words;
+    }
+
+    /**
+     * writes a dawg to a snapshot file
+     * the word list's length and modified time are recorded so that a
+     * snapshot of an older list is not used after the list changes
+     * @param dawg dawg to write
+     * @param snapshot file to write
+     * @param wordList word list the dawg was built from
+     */
+    public static void write(Dawg dawg, File snapshot, File wordList) throws IOException {
+        int nodes = dawg.getNodeCount();
+        int edges = dawg.getEdgeCount();
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_BYTES + (2 * nodes + edges) * Integer.BYTES)
+                .order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(MAGIC).putInt(VERSION).putInt(nodes).putInt(edges);
+        buffer.putLong(wordList.length()).putLong(wordList.lastModified());
+        IntBuffer ints = buffer.asIntBuffer();
+        ints.put(dawg.getNodeMasks()).put(dawg.getFirstEdges()).put(dawg.getEdgeTargets());
+
+        //written to a temporary file and renamed so readers never map half a snapshot
+        File temporary = new File(snapshot.getPath() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temporary.toPath(), StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            buffer.rewind();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(true);
+        }
+        if (!temporary.renameTo(snapshot)) {
+            snapshot.delete();
+            if (!temporary.renameTo(snapshot)) {
+                throw new IOException("could not replace " + snapshot);
+            }
+        }
+    }
+
+    /**
+     * memory maps a snapshot, the dawg reads straight from the mapped pages
+     * @param snapshot snapshot file
+     * @param wordList word list the snapshot should match, ignored if it does not exist
+     * @return the dawg, or null if the snapshot is missing, damaged or out of date
+     */
+    public static Dawg open(File snapshot, File wordList) throws IOException {
+        if (!snapshot.isFile() || snapshot.length() < HEADER_BYTES) {
+            return null;
+        }
+        MappedByteBuffer mapped;
+        try (FileChannel channel = FileChannel.open(snapshot.toPath(), StandardOpenOption.READ)) {
+            //the mapping stays valid after the channel is closed
+            mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        ByteBuffer buffer = mapped.order(ByteOrder.LITTLE_ENDIAN);
+        if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+            return null;
+        }
+        int nodes = buffer.getInt();
+        int edges = buffer.getInt();
+        long sourceLength = buffer.getLong();
+        long sourceModified = buffer.getLong();
+        if (wordList.isFile() && (wordList.length() != sourceLength
+                || wordList.lastModified() != sourceModified)) {
+            return null;
+        }
+        if (nodes <= 0 || edges < 0
+                || buffer.capacity() != HEADER_BYTES + (2L * nodes + edges) * Integer.BYTES) {
+            return null;
+        }
+        return new Dawg(slice(buffer, 0, nodes), slice(buffer, nodes, nodes),
+                slice(buffer, 2 * nodes, edges));
+    }
+
+    /**
+     * views part of the snapshot after the header as ints
+     * @param buffer whole snapshot
+     * @param offset first int of the section
+     * @param length number of ints in the section
+     * @return view of the section
+     */
+    private static IntBuffer slice(ByteBuffer buffer, int offset, int length){
+        ByteBuffer section = buffer.duplicate();
+        section.position(HEADER_BYTES + offset * Integer.BYTES);
+        section.limit(HEADER_BYTES + (offset + length) * Integer.BYTES);
+        return section.slice().order(ByteOrder.LITTLE_ENDIAN).asIntBuffer();
+    }
+}
@@ -1,5 +1,6 @@
 package indy;
 
+import javafx.application.Platform;
 import javafx.event.ActionEvent;
 import javafx.geometry.Pos;
 import javafx.scene.control.Button;
@@ -7,226 +8,431 @@ import javafx.scene.control.Label;
 import javafx.scene.input.MouseEvent;
 import javafx.scene.layout.Pane;
 import javafx.scene.paint.Color;
-import javafx.scene.text.Font;
 import javafx.scene.shape.Rectangle;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
-import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 /**
- * Game Class is the top level logic class
- * Contains an instance of Board and WordTree
+ * Game Class is the top level graphics class
+ * Shows a GameState on screen through a Board and the players' Tiles,
+ * and submits moves to it when the move button is pressed
  */
 public class Game {
     private Pane pane;
     private Label label;
     private Board board;
-    private int score1 = 0;
-    private int score2 = 0;
-    private int turn = 2;
-    private GameSquare[][] gameSquareBoard;
-
-    private ArrayList<Tile> p1Tiles;
-    private ArrayList<Tile> p2Tiles;
-
-    private WordTree wordTree;
-    private Tile[][] tileBoard;
+    private GameState gameState;
+    //layout of the board, known before a saved game has loaded
+    private BoardLayout layout;
+
+    //tiles showing the current player's rack, reused by both players
+    private ArrayList<Tile> rackTiles;
+    //rack tiles not needed while a rack is short, taken off the pane until reused
+    private ArrayDeque<Tile> spareTiles;
+
+    //dictionary the game is checked against, the registry always has its newest version
+    private LexiconRegistry lexicons;
+    private String lexiconId;
     private Label display;
     private Button moveButton;
-
-    private ArrayList<Character> letters = new ArrayList<>(
-            Arrays.asList('A', 'A', 'A', 'A', 'A', 'A', 'A', 'A', 'A',
-                    'B', 'B', 'C', 'C', 'D', 'D', 'D', 'D',
-                    'E', 'E', 'E', 'E', 'E', 'E', 'E', 'E', 'E', 'E', 'E', 'E',
-                    'F', 'F', 'G', 'G', 'G', 'H', 'H',
-                    'I', 'I', 'I', 'I', 'I', 'I', 'I', 'I', 'I',
-                    'J', 'K', 'L', 'L', 'L', 'L', 'M', 'M',
-                    'N', 'N', 'N', 'N', 'N', 'N',
-                    'O', 'O', 'O', 'O', 'O', 'O', 'O', 'O',
-                    'P', 'P', 'Q', 'R', 'R', 'R', 'R', 'R', 'R',
-                    'S', 'S', 'S', 'S', 'T', 'T', 'T', 'T', 'T', 'T',
-                    'U', 'U', 'U', 'U', 'V', 'V', 'W', 'W', 'X',
-                    'Y', 'Y', 'Z', ' ', ' '));
+    private Button hintButton;
+    //made once the dictionary has loaded, for the version it was made with, the hint being searched for
+    private HintEngine hintEngine;
+    private Lexicon hintLexicon;
+    private Hint hint;
+    //true if the computer could not move because the dictionary did not load
+    private boolean computerWaiting;
+    //saves every move, null if the game could not be saved
+    private GameJournal journal;
 
     /**
      * constructor of game class
      * initializes instance variables
      * initializes graphics and buttons
+     * the dictionary loads in the background so the board shows right away,
+     * the indy.lexicon property picks it by id from the shared LexiconRegistry
+     * a saved game needs the dictionary to be loaded, so it is shown once it has
+     * been, without the ui thread waiting for it
      * @param myPane parent Pane
      * @param myLabel score display label
      * @param moveButton submit move button
+     * @param hintButton show hint button
      */
-    public Game(Pane myPane, Label myLabel, Button moveButton){
+    public Game(Pane myPane, Label myLabel, Button moveButton, Button hintButton){
+        this.lexicons = LexiconRegistry.getShared();
+        this.lexiconId = System.getProperty("indy.lexicon", LexiconRegistry.DEFAULT_ID);
         this.pane = myPane;
         this.label = myLabel;
         this.display = new Label();
-        this.board = new Board(this.pane);
-        this.gameSquareBoard = this.board.getBoard();
-        this.tileBoard = this.board.getTileBoard();
+        this.moveButton = moveButton;
+        this.hintButton = hintButton;
+        this.rackTiles = new ArrayList<>();
+        this.spareTiles = new ArrayDeque<>();
+        File directory = new File(System.getProperty("indy.saveDir", Constants.SAVE_PATH));
+        try {
+            this.layout = GameJournal.getLayout(directory);
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+        if(this.layout == null){
+            this.layout = BoardLayout.SMALL;
+            try {
+                this.layout = BoardLayout.get(System.getProperty("indy.board", Constants.BOARD_LAYOUT));
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+            this.lexicons.load(this.lexiconId);
+            this.start(this.loadGame(directory, null));
+        } else {
+            //the saved board's cross-checks need the dictionary, so it is loaded off the ui thread
+            //without a dictionary the save is left alone for next time and the new game is not saved
+            this.lexicons.load(this.lexiconId).whenComplete((Lexicon lexicon, Throwable e) -> {
+                if(e != null){
+                    e.printStackTrace();
+                }
+                GameState game = lexicon == null ? new GameState(new TileBag(), this.layout)
+                        : this.loadGame(directory, lexicon.getWordTree().getDawg());
+                Platform.runLater(() -> this.start(game));
+            });
+        }
+    }
+
+    /**
+     * shows a game on the board and lets it be played
+     * @param game game to show
+     */
+    private void start(GameState game){
+        this.gameState = game;
+        this.board = new Board(this.pane, this.gameState.getBoard());
+        this.showScoredTiles();
         this.update();
-        this.p1Tiles = new ArrayList<>();
-        this.p2Tiles = new ArrayList<>();
-        this.setTileRack(this.turn);
+        this.setTileRack(this.gameState.getTurn());
         this.setupReset();
         this.setupGameOver();
-        this.wordTree = new WordTree();
-        this.moveButton = moveButton;
-        this.moveButton.setOnAction((ActionEvent e) -> this.checkMove(this.turn));
+        this.moveButton.setOnAction((ActionEvent e) -> this.checkMove());
+        this.hintButton.setOnAction((ActionEvent e) -> this.showHint());
+        this.checkComputerTurn();
     }
 
     /**
-     * switches turns when a valid move is submitted
+     * picks up the game that was being played when the program last closed,
+     * or starts a new one, and saves every move from now on
+     * the indy.saveDir property overrides the save directory in Constants,
+     * and indy.board the layout of a new game
+     * a saved game keeps the layout it was started on, and a new game is started
+     * on it if the save cannot be loaded, since the window is already sized to it
+     * a save that cannot be loaded is set aside instead of being replaced, and if
+     * that fails the new game is not saved
+     * @param directory save directory
+     * @param dawg lexicon the saved board's cross-checks are based on, null if there is no save to load
+     * @return the game
      */
-    private void update(){
-        this.switchTurns();
-        this.label.setText("Player 1 Score: " + this.score1 + "   Player 2 Score: " +
-                this.score2 + "   It's Player " + this.turn + "'s turn!");
-
+    private GameState loadGame(File directory, Dawg dawg){
+        GameState game = null;
+        if(dawg != null){
+            try {
+                game = GameJournal.recover(directory, dawg);
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        }
+        try {
+            if(game == null){
+                GameJournal.setAside(directory);
+                game = new GameState(new TileBag(), this.layout);
+            }
+            this.journal = new GameJournal(directory, game, Constants.SAVE_SYNC,
+                    Constants.SAVE_SYNC_MILLIS, Constants.SAVE_SNAPSHOT_INTERVAL);
+        } catch (IOException e) {
+            e.printStackTrace();
+            if(game == null){
+                game = new GameState(new TileBag(), this.layout);
+            }
+        }
+        return game;
     }
 
     /**
-     * checks an addition of tiles, called when submit is pressed
-     * @param player turn
+     * adds a tile for every tile scored before the game was loaded
      */
-    private void checkMove(int player){
-        int initialScore = 0;
-        ArrayList<Tile> addedTiles = new ArrayList<>();
-
-        //adds all newly added tiles to an array, addedTiles
-        for (Tile[] tiles : this.tileBoard) {
-            for (int j = 0; j < this.tileBoard[0].length; j++) {
-                if (tiles[j] != null && tiles[j].isTemporary()) {
-                    addedTiles.add(tiles[j]);
+    private void showScoredTiles(){
+        BoardState state = this.board.getState();
+        for(int row = 0; row < state.getSize(); row++){
+            for(int col = 0; col < state.getSize(); col++){
+                char letter = state.getFinalLetter(row, col);
+                if(letter != BoardState.EMPTY){
+                    Tile tile = new Tile(col * Constants.SQUARE_DIM, row * Constants.SQUARE_DIM, this.pane,
+                            this.board, state.isBlank(row, col) ? MoveGenerator.BLANK : letter);
+                    tile.placeScored(row, col, letter);
+                    this.board.showScoredTile(tile, row, col);
+                    tile.addToPane();
                 }
             }
         }
-        ArrayList<String> words = new ArrayList<>();
-        //check if there are words and add scores
-        if(player == 1){
-            initialScore = this.score1;
-            this.score1 += this.board.checkHorizWords(words);
-            this.score1 += this.board.checkVertWords(words);
-        } else {
-            initialScore = this.score2;
-            this.score2 += this.board.checkHorizWords(words);
-            this.score2 += this.board.checkVertWords(words);
-        }
+    }
 
-        //if no tiles, displays to user to add tiles
-        // turn does not switch and method is stopped with return
-        if(words.isEmpty()){
-            this.makeDisplayVisible("Add some tiles!");
-            this.reset(addedTiles, initialScore);
+    /**
+     * accessor for the width of the board on screen, which depends on its layout
+     * @return width in pixels
+     */
+    public int getWidth(){
+        return this.layout.getSize() * Constants.SQUARE_DIM;
+    }
+
+    /**
+     * shows the scores and whose turn it is
+     */
+    private void update(){
+        this.label.setText("Player 1 Score: " + this.gameState.getScore(1) + "   Player 2 Score: " +
+                this.gameState.getScore(2) + "   It's Player " + this.gameState.getTurn() + "'s turn!");
+
+    }
+
+    /**
+     * checks an addition of tiles, called when submit is pressed
+     */
+    private void checkMove(){
+        MoveResult result = this.submitTiles();
+
+        //if no tiles or a word is not valid, tells the user and the turn does not switch
+        if(result == null){
             return;
+        } else if(result.getStatus() == MoveResult.Status.NO_WORDS){
+            this.makeDisplayVisible("Add some tiles!");
+        } else if(result.getStatus() == MoveResult.Status.INVALID_WORD){
+            this.makeDisplayVisible(result.getInvalidWord() + " is not a valid word");
+        } else if(result.getStatus() == MoveResult.Status.NOT_CONNECTED){
+            this.makeDisplayVisible("Tiles have to touch the board!");
         }
+    }
 
-        //checks all words found against words in bst
-        //if any word is not valid, reset score and return
-        for (String word: words) {
-            if(this.wordTree.search(word) == null){
-                this.makeDisplayVisible(word + " is not a valid word");
-                this.reset(addedTiles, initialScore);
-                return;
-            }
+    /**
+     * submits the tiles added this turn
+     * if the move is valid the tiles stay and it is the next player's turn,
+     * otherwise they go back to the rack and the turn does not switch
+     * @return result of the move, null if the dictionary could not be loaded
+     */
+    private MoveResult submitTiles(){
+        long start = Metrics.start();
+        ArrayList<Tile> addedTiles = this.board.getTemporaryTiles();
+
+        //checks the move against the rules and the dictionary
+        //only waits here if submit is pressed before it has finished loading
+        //the move is checked against the version current now, even if a new one is swapped in
+        Lexicon lexicon = this.getLexicon();
+        if(lexicon == null){
+            this.reset(addedTiles);
+            return null;
+        }
+        MoveResult result = this.gameState.submit(lexicon.getWordTree());
+        if(!result.isValid()){
+            this.reset(addedTiles);
+            Metrics.CHECK_MOVE.recordSince(start);
+            return result;
         }
 
         //now that words are checked, make tiles permanent
-        //remove used tiles from player racks so they can be replaced
+        //used tiles stay on the board, so they leave the rack
         for (Tile tile: addedTiles){
             tile.setFinal();
-            if(this.turn == 1){
-                this.p1Tiles.remove(tile);
-            } else {
-                this.p2Tiles.remove(tile);
-            }
+            this.rackTiles.remove(tile);
         }
 
         this.update();
-        this.setTileRack(this.turn);
+        this.setTileRack(this.gameState.getTurn());
+        Metrics.CHECK_MOVE.recordSince(start);
+        this.checkComputerTurn();
+        return result;
     }
 
     /**
-     * switches turn to other player based on current player
+     * current version of the dictionary, waiting for it if it is still loading
+     * the player is told if it could not be loaded, the next call tries again
+     * @return lexicon, null if it could not be loaded
      */
-    private void switchTurns(){
-        if (this.turn == 1){
-            this.turn = 2;
-        } else {
-            this.turn = 1;
+    private Lexicon getLexicon(){
+        try {
+            return this.lexicons.get(this.lexiconId);
+        } catch (CompletionException e) {
+            e.printStackTrace();
+            this.showLoadFailure();
+            return null;
         }
     }
 
     /**
-     * moves all added tiles to their original position on rack
-     * clears board array and sets scores back to initial scores
-     * @param addedTiles arrayList of newly added tiles to be checked
-     * @param initialScore stores initial score in case a detected word is invalid
+     * tells the player the dictionary could not be loaded
      */
-    private void reset(ArrayList<Tile> addedTiles, int initialScore){
-        for (Tile tile: addedTiles){
-            tile.resetPos();
-            this.tileBoard[tile.getRow()][tile.getCol()] = null;
+    private void showLoadFailure(){
+        this.makeDisplayVisible("The dictionary could not be loaded!");
+    }
 
-        }
-        if(this.turn ==1){
-            this.score1 = initialScore;
-        } else{
-            this.score2 = initialScore;
+    /**
+     * plays the computer's move if it is the computer's turn
+     * waits for the dictionary without blocking, then moves on the ui thread
+     * if it could not be loaded the player is told, and it is tried again
+     * once the message is closed
+     */
+    private void checkComputerTurn(){
+        if(Constants.COMPUTER_OPPONENT && this.gameState.getTurn() == Constants.COMPUTER_PLAYER){
+            this.lexicons.load(this.lexiconId).whenComplete((Lexicon lexicon, Throwable e) ->
+                    Platform.runLater(() -> {
+                        if(lexicon == null){
+                            e.printStackTrace();
+                            this.computerWaiting = true;
+                            this.showLoadFailure();
+                        } else {
+                            this.playComputerMove(lexicon.getWordTree());
+                        }
+                    }));
         }
     }
 
     /**
-     * adds tiles to current players rack until they have 7
-     * removes/adds tiles to pane as needed based on whose turn it is
-     * @param turn whose turn it is
+     * finds the highest scoring move for the current rack, puts its
+     * tiles on the board and submits it like a player would
+     * a move the rules reject is taken back and the next best one is tried, so
+     * the turn never stays with the computer; the game ends if none is accepted
+     * @param wordTree loaded dictionary
      */
-    private void setTileRack(int turn){
-        if (turn == 1){
-            //moves all old tiles to the left
-            for(int i = 0; i < this.p1Tiles.size(); i++){
-                this.p1Tiles.get(i).setX((i + 1) * Constants.SQUARE_DIM);
-            }
-
-            //adds new tiles to the right of current tiles
-            while(this.p1Tiles.size() < 7){
-                this.p1Tiles.add(new Tile( (this.p1Tiles.size() + 1) * Constants.SQUARE_DIM,
-                        Constants.SCENE_HEIGHT, this.pane, this.gameSquareBoard,
-                        this.tileBoard, this.letters));
-            }
-
-            //adds current player's tiles to pane
-            for(Tile tile: this.p1Tiles){
-                tile.addToPane();
-            }
-            //removes previous player's tiles from pane
-            for(Tile tile: this.p2Tiles){
-                if(tile.isTemporary()){
-                    tile.removeFromPane();
+    private void playComputerMove(WordTree wordTree){
+        this.gameState.useDawg(wordTree.getDawg());
+        List<Move> moves = new MoveGenerator(wordTree.getDawg()).generate(this.board.getState(),
+                this.gameState.getRackLetters());
+        for (Move move: moves){
+            ArrayList<Tile> rack = new ArrayList<>(this.rackTiles);
+            for (int i = 0; i < move.getWord().length(); i++){
+                if(move.isPlaced(i)){
+                    char letter = move.getWord().charAt(i);
+                    Tile tile = this.takeTile(rack, letter, move.isBlank(i));
+                    tile.placeOn(move.getRow(i), move.getCol(i), letter);
                 }
             }
-        } else{
-            //see comments above, just switched for p1 and p2
-            for(int i = 0; i < this.p2Tiles.size(); i++){
-                this.p2Tiles.get(i).setX((i + 1) * Constants.SQUARE_DIM);
+            MoveResult result = this.submitTiles();
+            if(result == null || result.isValid()){
+                return;
             }
+        }
+        this.GameOver();
+    }
 
-            while(this.p2Tiles.size() < 7){
-                this.p2Tiles.add(new Tile( (this.p2Tiles.size() + 1) * Constants.SQUARE_DIM,
-                        Constants.SCENE_HEIGHT, this.pane, this.gameSquareBoard,
-                        this.tileBoard, this.letters));
+    /**
+     * looks for the best move for the current player's rack
+     * the ui thread never waits: the hint is shown once the search has
+     * used up its time budget, see HintEngine
+     */
+    private void showHint(){
+        CompletableFuture<Lexicon> loading = this.lexicons.load(this.lexiconId);
+        if(loading.isCompletedExceptionally()){
+            this.showLoadFailure();
+            return;
+        }
+        Lexicon lexicon = loading.getNow(null);
+        if(lexicon == null){
+            this.makeDisplayVisible("Still loading the dictionary!");
+            return;
+        }
+        //a new version of the dictionary gets a new engine
+        if(lexicon != this.hintLexicon){
+            if(this.hintEngine != null){
+                this.hintEngine.shutdown();
             }
+            this.hintEngine = new HintEngine(lexicon.getWordTree().getDawg());
+            this.hintLexicon = lexicon;
+        }
+        if(this.hint != null){
+            this.hint.cancel();
+        }
+        //the board's cross-checks have to come from the same version as the engine
+        this.gameState.useDawg(lexicon.getWordTree().getDawg());
+        Hint myHint = this.hintEngine.request(this.board.getState(), this.gameState.getRackLetters(),
+                Constants.HINT_BUDGET_MILLIS, false);
+        this.hint = myHint;
+        myHint.getResult().thenAccept((Move move) -> Platform.runLater(() -> this.displayHint(myHint, move)));
+    }
 
-            for(Tile tile: this.p2Tiles){
-                if(tile.isTemporary()){
-                    tile.addToPane();
-                }
-            }
+    /**
+     * shows a hint unless another one was asked for since
+     * @param myHint hint the move is from
+     * @param move best move found, null if there is none
+     */
+    private void displayHint(Hint myHint, Move move){
+        if(myHint != this.hint){
+            return;
+        }
+        this.hint = null;
+        if(move == null){
+            this.makeDisplayVisible("No moves found!");
+        } else {
+            this.makeDisplayVisible("Try " + move.getWord() + (move.isHorizontal() ? " across" : " down")
+                    + " from row " + (move.getRow(0) + 1) + ", column " + (move.getCol(0) + 1)
+                    + "\n for " + move.getScore() + " points");
+        }
+    }
 
-            for(Tile tile: this.p1Tiles){
-                if(tile.isTemporary()){
-                    tile.removeFromPane();
-                }
+    /**
+     * removes a tile that can play a letter from a list of rack tiles
+     * @param rack tiles not used yet
+     * @param letter letter to play
+     * @param blank true if the letter is played with a blank
+     * @return the tile, taken out of rack
+     */
+    private Tile takeTile(ArrayList<Tile> rack, char letter, boolean blank){
+        for (Tile tile: rack){
+            if(tile.isBlank() == blank && (blank || tile.letter == letter)){
+                rack.remove(tile);
+                return tile;
             }
         }
+        throw new IllegalStateException("no tile on the rack for " + letter);
+    }
+
+    /**
+     * moves all added tiles to their original position on rack
+     * and takes them off the board
+     * @param addedTiles arrayList of newly added tiles to be checked
+     */
+    private void reset(ArrayList<Tile> addedTiles){
+        for (Tile tile: addedTiles){
+            tile.resetPos();
+            this.board.removeTile(tile);
+        }
+    }
+
+    /**
+     * shows the current player's rack on the rack tiles
+     * the tiles left on the rack are reused for the other player's letters, so a
+     * new tile is only made for each tile played, and only if there is no spare
+     * @param turn whose turn it is
+     */
+    private void setTileRack(int turn){
+        ArrayList<Character> rack = this.gameState.getRack(turn);
+
+        //takes tiles off the pane if the rack is short, e.g. when the bag is empty
+        while(this.rackTiles.size() > rack.size()){
+            Tile tile = this.rackTiles.remove(this.rackTiles.size() - 1);
+            tile.removeFromPane();
+            this.spareTiles.push(tile);
+        }
+        //adds tiles to the right of current tiles
+        while(this.rackTiles.size() < rack.size()){
+            Tile tile = this.spareTiles.isEmpty() ? new Tile(0, this.board.getWidth(), this.pane,
+                    this.board, rack.get(this.rackTiles.size())) : this.spareTiles.pop();
+            tile.addToPane();
+            this.rackTiles.add(tile);
+        }
+
+        //moves all tiles to the left and shows the current player's letters on them
+        for(int i = 0; i < this.rackTiles.size(); i++){
+            Tile tile = this.rackTiles.get(i);
+            tile.setX((i + 1) * Constants.SQUARE_DIM);
+            tile.setLetter(rack.get(i));
+        }
     }
 
     /**
@@ -238,9 +444,9 @@ public class Game {
         this.display.setText(message + "\n Click anywhere to continue");
         this.display.setLayoutX(0);
         this.display.setLayoutY(0);
-        this.display.setPrefSize(Constants.SCENE_WIDTH,
-                Constants.SCENE_HEIGHT + Constants.SQUARE_DIM);
-        this.display.setFont(new Font(Constants.DISPLAY_FONT));
+        this.display.setPrefSize(this.board.getWidth(),
+                this.board.getWidth() + Constants.SQUARE_DIM);
+        this.display.setFont(Constants.MESSAGE_FONT);
         this.display.setStyle(Constants.DISPLAY_BACKGROUND);
         this.display.setAlignment(Pos.CENTER);
         this.display.setOnMouseClicked((MouseEvent) -> this.removeDisplay());
@@ -257,6 +463,11 @@ public class Game {
     private void removeDisplay(){
         this.pane.getChildren().remove(this.display);
         this.moveButton.setVisible(true);
+        //the computer's turn was held up by the dictionary, so it tries again
+        if(this.computerWaiting){
+            this.computerWaiting = false;
+            this.checkComputerTurn();
+        }
     }
 
     /**
@@ -265,20 +476,25 @@ public class Game {
      * interactions from interfering with current state of board
      */
     private void GameOver(){
-        if(this.score1 > this.score2){
+        if(this.gameState.getScore(1) > this.gameState.getScore(2)){
             this.label.setText("Player 1 wins!");
-        } else if (this.score1 < this.score2){
+        } else if (this.gameState.getScore(1) < this.gameState.getScore(2)){
             this.label.setText("Player 2 wins!");
         } else {
             this.label.setText("It's a tie!");
         }
         this.moveButton.setVisible(false);
-        Rectangle rect = new Rectangle(0,0, Constants.SCENE_WIDTH,
-                Constants.SCENE_HEIGHT + 2 * Constants.SQUARE_DIM);
+        Rectangle rect = new Rectangle(0,0, this.board.getWidth(),
+                this.board.getWidth() + 2 * Constants.SQUARE_DIM);
         rect.setFill(Color.TRANSPARENT);
         this.pane.getChildren().add(rect);
         this.pane.setOnMouseDragged(null);
         this.moveButton.setVisible(false);
+        //a finished game is not picked up again
+        if(this.journal != null){
+            this.journal.delete();
+            this.journal = null;
+        }
     }
 
     /**
@@ -289,7 +505,7 @@ public class Game {
         resetLabel.setText("UNDO \n MOVE");
         resetLabel.setAlignment(Pos.CENTER);
         resetLabel.setLayoutX(0);
-        resetLabel.setLayoutY(Constants.SCENE_HEIGHT);
+        resetLabel.setLayoutY(this.board.getWidth());
         resetLabel.setPrefSize(Constants.SQUARE_DIM, Constants.SQUARE_DIM);
         resetLabel.setOnMouseClicked((MouseEvent event) -> this.reset());
         this.pane.getChildren().add(resetLabel);
@@ -302,8 +518,8 @@ public class Game {
         Label endLabel = new Label();
         endLabel.setText("NO VALID \n MOVES?");
         endLabel.setAlignment(Pos.CENTER);
-        endLabel.setLayoutX(Constants.SCENE_WIDTH - Constants.SQUARE_DIM);
-        endLabel.setLayoutY(Constants.SCENE_HEIGHT);
+        endLabel.setLayoutX(this.board.getWidth() - Constants.SQUARE_DIM);
+        endLabel.setLayoutY(this.board.getWidth());
         endLabel.setPrefSize(Constants.SQUARE_DIM, Constants.SQUARE_DIM);
         endLabel.setOnMouseClicked((MouseEvent event) -> this.GameOver());
         this.pane.getChildren().add(endLabel);
@@ -313,17 +529,10 @@ public class Game {
     /**
      * called when Undo Move label is clicked
      * sets all added tiles back to their original position
-     * clears tile board
+     * and takes them off the board
      */
     private void reset(){
-        for (int i = 0; i < this.tileBoard.length; i++){
-            for (int j = 0; j < this.tileBoard[0].length; j++){
-                if(this.tileBoard[i][j] != null && this.tileBoard[i][j].isTemporary()){
-                    this.tileBoard[i][j].resetPos();
-                    this.tileBoard[i][j] = null;
-                }
-            }
-        }
+        this.reset(this.board.getTemporaryTiles());
     }
 
 }
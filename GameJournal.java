@@ -0,0 +1,705 @@
+package indy;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+
+/**
+ * GameJournal saves a game while it is played, so it can be picked up again after a crash
+ * A save is a directory with a snapshot, the whole game in a few hundred bytes,
+ * and a journal that every move after the snapshot is appended to. Moves are
+ * encoded on the thread that submits them and handed to a writer thread, which
+ * writes whatever has queued up in one go and forces it to disk as often as
+ * its Sync policy says, so saving adds nothing to a move but a queue offer.
+ * Every snapshotInterval moves a new snapshot replaces the old one and the
+ * journal starts over. Recovery loads the snapshot and replays the journal
+ * after it, up to the first entry that was not completely written
+ */
+public class GameJournal implements Runnable {
+    public static final String SNAPSHOT_NAME = "game.snapshot";
+    public static final String JOURNAL_NAME = "game.journal";
+    //added to the names of a save that could not be loaded, see setAside
+    public static final String BAD_EXTENSION = ".bad";
+    private static final int MAGIC = 0x47414d45;
+    private static final int VERSION = 2;
+    private static final byte MOVE = 0;
+    private static final byte EXCHANGE = 1;
+    //length and checksum in front of every journal entry
+    private static final int ENTRY_HEADER_BYTES = 2 * Integer.BYTES;
+    private static final Object STOP = new Object();
+    private static final Object DELETE = new Object();
+
+    /**
+     * when the writer forces the journal to disk
+     * EVERY_BATCH after every write, INTERVAL at most every syncMillis,
+     * NEVER only when flushed or closed, otherwise it is up to the system
+     */
+    public enum Sync {
+        EVERY_BATCH, INTERVAL, NEVER
+    }
+
+    private File snapshotFile;
+    private File journalFile;
+    private Sync sync;
+    private long syncMillis;
+    private int snapshotInterval;
+    //entries only count towards recovery if they were written after a snapshot with the same epoch
+    private long epoch;
+
+    //only used by the thread playing the game
+    private int sequence;
+    private int sinceSnapshot;
+
+    //only used by the writer thread
+    private LinkedBlockingQueue<Object> queue;
+    private Thread writer;
+    private FileChannel channel;
+    private boolean dirty;
+    private long lastSync;
+    private boolean deleted;
+
+    /**
+     * constructor for gameJournal, starts saving a game
+     * the save in the directory is replaced, starting with a snapshot of the game as it is now
+     * @param directory directory of the save, made if it does not exist
+     * @param game game to save, every move from now on is written
+     * @param mySync when to force writes to disk
+     * @param mySyncMillis longest time between forces for Sync.INTERVAL
+     * @param mySnapshotInterval moves between snapshots
+     */
+    public GameJournal(File directory, GameState game, Sync mySync, long mySyncMillis,
+                       int mySnapshotInterval) throws IOException {
+        Files.createDirectories(directory.toPath());
+        this.snapshotFile = new File(directory, SNAPSHOT_NAME);
+        this.journalFile = new File(directory, JOURNAL_NAME);
+        this.sync = mySync;
+        this.syncMillis = mySyncMillis;
+        this.snapshotInterval = Math.max(1, mySnapshotInterval);
+        this.epoch = ThreadLocalRandom.current().nextLong();
+        this.queue = new LinkedBlockingQueue<>();
+        this.channel = FileChannel.open(this.journalFile.toPath(), StandardOpenOption.CREATE,
+                StandardOpenOption.APPEND);
+        this.queue.add(new Snapshot(encodeSnapshot(game, this.epoch, this.sequence)));
+        game.setJournal(this);
+
+        this.writer = new Thread(this, "journal " + directory.getName());
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    /**
+     * loads a saved game
+     * the journal is replayed up to the first entry that was cut off or does
+     * not fit the game, the entries after that are dropped
+     * @param directory directory of the save
+     * @param dawg lexicon the board's cross-checks are based on
+     * @return the game, or null if there is no save
+     */
+    public static GameState recover(File directory, Dawg dawg) throws IOException {
+        ByteBuffer snapshot = readSnapshot(directory);
+        if (snapshot == null) {
+            return null;
+        }
+        long epoch = snapshot.getLong();
+        int sequence = snapshot.getInt();
+        int gameStart = snapshot.position();
+        GameState game = decodeSnapshot(snapshot, dawg);
+
+        File journalFile = new File(directory, JOURNAL_NAME);
+        if (journalFile.exists()) {
+            byte[] journal = Files.readAllBytes(journalFile.toPath());
+            int failed = replayJournal(game, journal, epoch, sequence, Integer.MAX_VALUE, dawg);
+            if (failed >= 0) {
+                //the entry may have changed part of the game before it failed, so the game
+                //is loaded again and only the entries before it are replayed
+                snapshot.position(gameStart);
+                game = decodeSnapshot(snapshot, dawg);
+                replayJournal(game, journal, epoch, sequence, failed - 1, dawg);
+            }
+        }
+        return game;
+    }
+
+    /**
+     * replays the entries of a journal that follow a snapshot, in order
+     * @param game game loaded from the snapshot
+     * @param journal whole journal
+     * @param epoch epoch of the snapshot, entries with another one are skipped
+     * @param sequence entries written before the snapshot
+     * @param last sequence number of the last entry to replay
+     * @param dawg lexicon the board's cross-checks are based on
+     * @return sequence number of the first entry that does not fit the game, or -1 if there is none
+     */
+    private static int replayJournal(GameState game, byte[] journal, long epoch, int sequence, int last,
+                                     Dawg dawg){
+        ByteBuffer buffer = ByteBuffer.wrap(journal).order(ByteOrder.LITTLE_ENDIAN);
+        while (buffer.remaining() >= ENTRY_HEADER_BYTES) {
+            int length = buffer.getInt(buffer.position());
+            int start = buffer.position() + ENTRY_HEADER_BYTES;
+            //the rest of the journal is a write that was cut off
+            if (length < 0 || length > buffer.limit() - start
+                    || !isChecksumValid(buffer, start, length)) {
+                break;
+            }
+            buffer.position(start);
+            ByteBuffer entry = buffer.slice().order(ByteOrder.LITTLE_ENDIAN);
+            entry.limit(length);
+            buffer.position(start + length);
+            if (entry.getLong() != epoch) {
+                continue;
+            }
+            int entrySequence = entry.getInt();
+            if (entrySequence <= sequence) {
+                continue;
+            }
+            if (entrySequence != sequence + 1 || entrySequence > last) {
+                break;
+            }
+            try {
+                replay(game, entry, dawg);
+            } catch (RuntimeException e) {
+                System.err.println("entry " + entrySequence + " of the journal does not fit the game,"
+                        + " it and the entries after it are dropped: " + e);
+                return entrySequence;
+            }
+            sequence = entrySequence;
+        }
+        return -1;
+    }
+
+    /**
+     * moves a save that could not be loaded out of the way, so a new save in the
+     * directory does not replace it, e.g. game.snapshot becomes game.snapshot.bad
+     * @param directory directory of the save, nothing happens if there is none
+     */
+    public static void setAside(File directory) throws IOException {
+        for (String name : new String[]{SNAPSHOT_NAME, JOURNAL_NAME}) {
+            File file = new File(directory, name);
+            if (file.exists()) {
+                Files.move(file.toPath(), new File(directory, name + BAD_EXTENSION).toPath(),
+                        StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+    }
+
+    /**
+     * finds the layout of a saved game without loading it, which needs no lexicon
+     * @param directory directory of the save
+     * @return the layout, or null if there is no save
+     */
+    public static BoardLayout getLayout(File directory) throws IOException {
+        ByteBuffer snapshot = readSnapshot(directory);
+        if (snapshot == null) {
+            return null;
+        }
+        //skips the epoch, sequence number, size, turn and scores
+        snapshot.position(snapshot.position() + Long.BYTES + 5 * Integer.BYTES);
+        return decodeLayout(snapshot);
+    }
+
+    /**
+     * reads and checks the snapshot of a save
+     * @param directory directory of the save
+     * @return snapshot, positioned after the magic number and version, or null if there is none
+     */
+    private static ByteBuffer readSnapshot(File directory) throws IOException {
+        File snapshotFile = new File(directory, SNAPSHOT_NAME);
+        if (!snapshotFile.exists()) {
+            return null;
+        }
+        ByteBuffer snapshot = ByteBuffer.wrap(Files.readAllBytes(snapshotFile.toPath()))
+                .order(ByteOrder.LITTLE_ENDIAN);
+        if (snapshot.remaining() < 2 * Integer.BYTES || snapshot.getInt(0) != MAGIC
+                || snapshot.getInt(Integer.BYTES) != VERSION) {
+            throw new IOException(snapshotFile + " is not a saved game");
+        }
+        if (!isChecksumValid(snapshot, 0, snapshot.limit() - Integer.BYTES)) {
+            throw new IOException(snapshotFile + " is damaged");
+        }
+        snapshot.position(2 * Integer.BYTES);
+        return snapshot;
+    }
+
+    /**
+     * writes a move to the journal, called by GameState after a move is scored
+     * @param game game the move was made in
+     * @param player player who made it
+     * @param squares squares of the new tiles as row * size + col
+     * @param score score of the move
+     * @param filled tiles the next player drew
+     */
+    void logMove(GameState game, int player, int[] squares, int score, List<Character> filled){
+        BoardState board = game.getBoard();
+        ByteBuffer entry = this.startEntry(MOVE, player, score,
+                squares.length * (Short.BYTES + 2) + filled.size() + 4);
+        entry.put((byte) squares.length);
+        for (int square : squares) {
+            int row = square / board.getSize();
+            int col = square % board.getSize();
+            entry.putShort((short) square);
+            entry.put((byte) board.getLetter(row, col));
+            entry.put((byte) (board.isBlank(row, col) ? 1 : 0));
+        }
+        putLetters(entry, new char[0]);
+        putLetters(entry, new char[0]);
+        putLetters(entry, filled);
+        this.finishEntry(game, entry);
+    }
+
+    /**
+     * writes an exchange to the journal, called by GameState after tiles are swapped
+     * @param game game the exchange was made in
+     * @param player player who made it
+     * @param letters tiles put back
+     * @param drawn tiles drawn for them
+     * @param filled tiles the next player drew
+     */
+    void logExchange(GameState game, int player, char[] letters, char[] drawn, List<Character> filled){
+        ByteBuffer entry = this.startEntry(EXCHANGE, player, 0,
+                letters.length + drawn.length + filled.size() + 4);
+        entry.put((byte) 0);
+        putLetters(entry, letters);
+        putLetters(entry, drawn);
+        putLetters(entry, filled);
+        this.finishEntry(game, entry);
+    }
+
+    /**
+     * makes a buffer for an entry and writes the fields every entry has
+     * @param kind MOVE or EXCHANGE
+     * @param player player who made the move
+     * @param score score of the move
+     * @param bodyBytes bytes of the rest of the entry
+     * @return buffer, positioned after the common fields
+     */
+    private ByteBuffer startEntry(byte kind, int player, int score, int bodyBytes){
+        this.sequence++;
+        ByteBuffer entry = ByteBuffer.allocate(ENTRY_HEADER_BYTES + Long.BYTES + 2 * Integer.BYTES + 2
+                + bodyBytes).order(ByteOrder.LITTLE_ENDIAN);
+        entry.position(ENTRY_HEADER_BYTES);
+        entry.putLong(this.epoch).putInt(this.sequence).put(kind).put((byte) player).putInt(score);
+        return entry;
+    }
+
+    /**
+     * fills in the length and checksum of an entry and queues it for the writer
+     * along with a new snapshot if one is due
+     * @param game game the entry is from
+     * @param entry entry, positioned at its end
+     */
+    private void finishEntry(GameState game, ByteBuffer entry){
+        int length = entry.position() - ENTRY_HEADER_BYTES;
+        entry.putInt(0, length);
+        entry.putInt(Integer.BYTES, checksum(entry.array(), ENTRY_HEADER_BYTES, length));
+        this.queue.add(entry.array());
+        if (++this.sinceSnapshot >= this.snapshotInterval) {
+            this.sinceSnapshot = 0;
+            this.queue.add(new Snapshot(encodeSnapshot(game, this.epoch, this.sequence)));
+        }
+    }
+
+    /**
+     * writes a count and then letters into an entry
+     * @param entry entry
+     * @param letters letters, ' ' for blanks
+     */
+    private static void putLetters(ByteBuffer entry, char[] letters){
+        entry.put((byte) letters.length);
+        for (char letter : letters) {
+            entry.put((byte) letter);
+        }
+    }
+
+    /**
+     * writes a count and then letters into an entry
+     * @param entry entry
+     * @param letters letters, ' ' for blanks
+     */
+    private static void putLetters(ByteBuffer entry, List<Character> letters){
+        entry.put((byte) letters.size());
+        for (char letter : letters) {
+            entry.put((byte) letter);
+        }
+    }
+
+    /**
+     * reads letters written by putLetters
+     * @param entry entry, positioned at the count
+     * @return letters
+     */
+    private static char[] getLetters(ByteBuffer entry){
+        char[] letters = new char[entry.get()];
+        for (int i = 0; i < letters.length; i++) {
+            letters[i] = (char) entry.get();
+        }
+        return letters;
+    }
+
+    /**
+     * applies a journal entry to a game
+     * @param game game at the entry before
+     * @param entry entry, positioned after its sequence number
+     * @param dawg lexicon the board's cross-checks are based on
+     */
+    private static void replay(GameState game, ByteBuffer entry, Dawg dawg){
+        byte kind = entry.get();
+        int player = entry.get();
+        int score = entry.getInt();
+        if (player != game.getTurn()) {
+            throw new IllegalStateException("entry is player " + player + "'s move, not player "
+                    + game.getTurn() + "'s");
+        }
+        int count = entry.get();
+        int[] squares = new int[count];
+        char[] letters = new char[count];
+        boolean[] blanks = new boolean[count];
+        for (int k = 0; k < count; k++) {
+            squares[k] = entry.getShort();
+            letters[k] = (char) entry.get();
+            blanks[k] = entry.get() != 0;
+        }
+        char[] returned = getLetters(entry);
+        char[] drawn = getLetters(entry);
+        char[] filled = getLetters(entry);
+        if (kind == MOVE) {
+            game.replayMove(squares, letters, blanks, score, filled, dawg);
+        } else {
+            game.replayExchange(returned, drawn, filled);
+        }
+    }
+
+    /**
+     * encodes the whole game
+     * @param game game, with no tiles placed but not submitted
+     * @param epoch epoch of the journal
+     * @param sequence entries written before the snapshot
+     * @return snapshot, ending with its checksum
+     */
+    private static byte[] encodeSnapshot(GameState game, long epoch, int sequence){
+        BoardState board = game.getBoard();
+        int size = board.getSize();
+        List<Character> rack1 = game.getRack(1);
+        List<Character> rack2 = game.getRack(2);
+        byte[] layout = board.getLayout().getName().getBytes(StandardCharsets.UTF_8);
+        ByteBuffer buffer = ByteBuffer.allocate(8 * Integer.BYTES + Long.BYTES + Short.BYTES + layout.length
+                + size * size + Dawg.ALPHABET_SIZE + 1 + rack1.size() + rack2.size() + 2)
+                .order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(MAGIC).putInt(VERSION).putLong(epoch).putInt(sequence);
+        buffer.putInt(size).putInt(game.getTurn()).putInt(game.getScore(1)).putInt(game.getScore(2));
+        //the layout's name, so the game is loaded on the same board
+        buffer.putShort((short) layout.length).put(layout);
+        //one byte per square, the letter with the top bit set for blanks
+        for (int row = 0; row < size; row++) {
+            for (int col = 0; col < size; col++) {
+                char letter = board.getFinalLetter(row, col);
+                buffer.put((byte) (letter == BoardState.EMPTY ? 0
+                        : letter | (board.isBlank(row, col) ? 0x80 : 0)));
+            }
+        }
+        TileBag bag = game.getBag();
+        for (char letter = 'A'; letter <= 'Z'; letter++) {
+            buffer.put((byte) bag.getCount(letter));
+        }
+        buffer.put((byte) bag.getCount(MoveGenerator.BLANK));
+        putLetters(buffer, rack1);
+        putLetters(buffer, rack2);
+        buffer.putInt(checksum(buffer.array(), 0, buffer.position()));
+        return buffer.array();
+    }
+
+    /**
+     * decodes a game encoded by encodeSnapshot
+     * the board's tiles are all placed and then committed, which works out
+     * the cross-checks and anchors as if they had been played one by one
+     * @param snapshot snapshot, positioned after the sequence number
+     * @param dawg lexicon the board's cross-checks are based on
+     * @return the game, whose bag draws with a new random
+     */
+    private static GameState decodeSnapshot(ByteBuffer snapshot, Dawg dawg) throws IOException {
+        int size = snapshot.getInt();
+        int turn = snapshot.getInt();
+        int score1 = snapshot.getInt();
+        int score2 = snapshot.getInt();
+        BoardLayout layout = decodeLayout(snapshot);
+        if (size != layout.getSize()) {
+            throw new IOException("saved board is " + size + "x" + size + ", not "
+                    + layout.getSize() + "x" + layout.getSize());
+        }
+        BoardState board = new BoardState(layout);
+        for (int row = 0; row < size; row++) {
+            for (int col = 0; col < size; col++) {
+                int square = snapshot.get() & 0xff;
+                if (square != 0) {
+                    board.placeTile(row, col, (char) (square & 0x7f), (square & 0x80) != 0);
+                }
+            }
+        }
+        board.commit(dawg);
+        int[] counts = new int[Dawg.ALPHABET_SIZE + 1];
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] = snapshot.get();
+        }
+        ArrayList<Character> rack1 = new ArrayList<>();
+        for (char letter : getLetters(snapshot)) {
+            rack1.add(letter);
+        }
+        ArrayList<Character> rack2 = new ArrayList<>();
+        for (char letter : getLetters(snapshot)) {
+            rack2.add(letter);
+        }
+        return new GameState(board, new TileBag(counts, new SplittableRandom()),
+                rack1, rack2, score1, score2, turn, dawg);
+    }
+
+    /**
+     * decodes the layout's name in a snapshot
+     * @param snapshot snapshot, positioned at the name
+     * @return the layout
+     */
+    private static BoardLayout decodeLayout(ByteBuffer snapshot) throws IOException {
+        byte[] name = new byte[snapshot.getShort()];
+        snapshot.get(name);
+        return BoardLayout.get(new String(name, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * copy of a game the way recover loads it, through a snapshot of it as it is now
+     * the board is rebuilt from its tiles, so its cross-checks can be compared
+     * with those of the board that was played on, see ReplayEngine
+     * @param game game, with no tiles placed but not submitted
+     * @param dawg lexicon the board's cross-checks are based on
+     * @return the copy
+     */
+    static GameState copyThroughSnapshot(GameState game, Dawg dawg){
+        ByteBuffer snapshot = ByteBuffer.wrap(encodeSnapshot(game, 0, 0)).order(ByteOrder.LITTLE_ENDIAN);
+        snapshot.position(3 * Integer.BYTES + Long.BYTES);
+        try {
+            return decodeSnapshot(snapshot, dawg);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * checksum of part of an array
+     * @param bytes array
+     * @param offset first byte
+     * @param length number of bytes
+     * @return crc32, cut to an int
+     */
+    private static int checksum(byte[] bytes, int offset, int length){
+        CRC32 crc = new CRC32();
+        crc.update(bytes, offset, length);
+        return (int) crc.getValue();
+    }
+
+    /**
+     * checks a checksum written by the writer in front of or after some bytes
+     * journal entries have it in front, snapshots at the end
+     * @param buffer buffer backed by an array
+     * @param offset first byte covered
+     * @param length number of bytes covered
+     * @return true if the bytes are as written
+     */
+    private static boolean isChecksumValid(ByteBuffer buffer, int offset, int length){
+        if (length < 0) {
+            return false;
+        }
+        int expected = offset == 0 ? buffer.getInt(length) : buffer.getInt(offset - Integer.BYTES);
+        return checksum(buffer.array(), offset, length) == expected;
+    }
+
+    /**
+     * waits for everything logged so far to be written and forced to disk,
+     * whatever the Sync policy
+     * @return future that completes once it is on disk
+     */
+    public CompletableFuture<Void> flush(){
+        CompletableFuture<Void> flushed = new CompletableFuture<>();
+        this.queue.add(flushed);
+        return flushed;
+    }
+
+    /**
+     * writes everything logged so far and stops the writer, the save is kept
+     */
+    public void close(){
+        this.queue.add(STOP);
+        try {
+            this.writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * stops the writer and deletes the save, e.g. once the game is over
+     * returns right away, the writer thread deletes the files once it gets to it
+     * and anything still waiting to be written is dropped
+     */
+    public void delete(){
+        this.queue.add(DELETE);
+    }
+
+    /**
+     * writer loop, takes everything that has queued up and writes it in one go
+     */
+    @Override
+    public void run(){
+        ArrayList<Object> batch = new ArrayList<>();
+        boolean running = true;
+        while (running) {
+            Object item;
+            try {
+                if (this.sync == Sync.INTERVAL && this.dirty) {
+                    long wait = this.lastSync + this.syncMillis - System.currentTimeMillis();
+                    item = this.queue.poll(Math.max(0, wait), TimeUnit.MILLISECONDS);
+                } else {
+                    item = this.queue.take();
+                }
+            } catch (InterruptedException e) {
+                break;
+            }
+            if (item != null) {
+                batch.add(item);
+                this.queue.drainTo(batch);
+            }
+            running = this.write(batch);
+            batch.clear();
+        }
+        try {
+            this.channel.close();
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+        if (this.deleted) {
+            this.snapshotFile.delete();
+            this.journalFile.delete();
+        }
+    }
+
+    /**
+     * writes a batch of entries, snapshots and flushes in order
+     * @param batch items taken off the queue
+     * @return false once STOP or DELETE is reached
+     */
+    private boolean write(List<Object> batch){
+        ArrayList<ByteBuffer> entries = new ArrayList<>();
+        try {
+            for (Object item : batch) {
+                if (item instanceof byte[]) {
+                    entries.add(ByteBuffer.wrap((byte[]) item));
+                } else if (item instanceof Snapshot) {
+                    //a snapshot covers every entry queued before it
+                    entries.clear();
+                    this.writeSnapshot(((Snapshot) item).bytes);
+                } else if (item == DELETE) {
+                    this.deleted = true;
+                    return false;
+                } else {
+                    this.writeEntries(entries);
+                    this.force();
+                    if (item == STOP) {
+                        return false;
+                    }
+                    ((CompletableFuture<?>) item).complete(null);
+                }
+            }
+            this.writeEntries(entries);
+            if (this.dirty && (this.sync == Sync.EVERY_BATCH || (this.sync == Sync.INTERVAL
+                    && System.currentTimeMillis() - this.lastSync >= this.syncMillis))) {
+                this.force();
+            }
+        } catch (IOException e) {
+            e.printStackTrace();
+            for (Object item : batch) {
+                if (item instanceof CompletableFuture) {
+                    ((CompletableFuture<?>) item).completeExceptionally(e);
+                }
+            }
+            this.deleted = batch.contains(DELETE);
+            return !batch.contains(STOP) && !this.deleted;
+        }
+        return true;
+    }
+
+    /**
+     * appends entries to the journal with one write
+     * @param entries entries, cleared once written
+     */
+    private void writeEntries(List<ByteBuffer> entries) throws IOException {
+        if (entries.isEmpty()) {
+            return;
+        }
+        ByteBuffer[] buffers = entries.toArray(new ByteBuffer[0]);
+        ByteBuffer last = buffers[buffers.length - 1];
+        while (last.hasRemaining()) {
+            this.channel.write(buffers);
+        }
+        entries.clear();
+        this.dirty = true;
+    }
+
+    /**
+     * forces the journal to disk if anything was written since the last time
+     */
+    private void force() throws IOException {
+        if (this.dirty) {
+            this.channel.force(false);
+            this.dirty = false;
+        }
+        this.lastSync = System.currentTimeMillis();
+    }
+
+    /**
+     * replaces the snapshot and empties the journal
+     * the snapshot is written to a temporary file, forced and renamed, so a
+     * crash leaves either the old snapshot or the new one; if it leaves the
+     * new one with the old journal, the old entries are skipped by sequence
+     * @param bytes encoded snapshot
+     */
+    private void writeSnapshot(byte[] bytes) throws IOException {
+        File temporary = new File(this.snapshotFile.getPath() + ".tmp");
+        try (FileChannel file = FileChannel.open(temporary.toPath(), StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.wrap(bytes);
+            while (buffer.hasRemaining()) {
+                file.write(buffer);
+            }
+            file.force(true);
+        }
+        Files.move(temporary.toPath(), this.snapshotFile.toPath(), StandardCopyOption.REPLACE_EXISTING,
+                StandardCopyOption.ATOMIC_MOVE);
+        this.channel.truncate(0);
+        this.dirty = false;
+    }
+
+    /**
+     * encoded snapshot waiting in the writer's queue
+     */
+    private static class Snapshot {
+        private byte[] bytes;
+
+        /**
+         * constructor for snapshot
+         * @param myBytes encoded snapshot
+         */
+        private Snapshot(byte[] myBytes){
+            this.bytes = myBytes;
+        }
+    }
+}
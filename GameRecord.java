@@ -0,0 +1,205 @@
+package indy;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * GameRecord is a game written down as text, so it can be replayed later, see ReplayEngine
+ * The first line is the seed of the bag, e.g. "seed 15", optionally followed
+ * by the name of the board's layout, e.g. "layout standard" (small if there is
+ * none), and every line after that is one turn: "row col across|down word score", where letters that were
+ * already on the board are in brackets and blanks are lower case, e.g.
+ * "4 2 across C(A)t 6", or "exchange AB?" with '?' for a blank
+ * Rows and columns start at 0, like Move. Lines starting with # are skipped
+ */
+public class GameRecord {
+    public static final String EXTENSION = ".game";
+    private static final Pattern SPACES = Pattern.compile(" +");
+
+    private long seed;
+    private String layout;
+    private ArrayList<String> turns;
+
+    /**
+     * constructor for an empty gameRecord of a game on the small board
+     * @param mySeed seed of the game's bag
+     */
+    public GameRecord(long mySeed){
+        this(mySeed, BoardLayout.SMALL.getName());
+    }
+
+    /**
+     * constructor for an empty gameRecord
+     * @param mySeed seed of the game's bag
+     * @param myLayout name of the board's layout, see BoardLayout.get
+     */
+    public GameRecord(long mySeed, String myLayout){
+        this.seed = mySeed;
+        this.layout = myLayout;
+        this.turns = new ArrayList<>();
+    }
+
+    /**
+     * accessor for the seed of the bag
+     * @return seed
+     */
+    public long getSeed(){
+        return this.seed;
+    }
+
+    /**
+     * accessor for the name of the board's layout
+     * @return name to look the layout up with, see BoardLayout.get
+     */
+    public String getLayout(){
+        return this.layout;
+    }
+
+    /**
+     * accessor for the turns, one line each
+     * @return turns in the order they were played
+     */
+    public List<String> getTurns(){
+        return this.turns;
+    }
+
+    /**
+     * adds a move with the score it was given
+     * @param move move played
+     */
+    public void addMove(Move move){
+        this.addMove(move, move.getScore());
+    }
+
+    /**
+     * adds a move with a given score
+     * @param move move played
+     * @param score score to record
+     */
+    public void addMove(Move move, int score){
+        StringBuilder line = new StringBuilder();
+        line.append(move.getRow(0)).append(' ').append(move.getCol(0)).append(' ')
+                .append(move.isHorizontal() ? "across" : "down").append(' ');
+        String word = move.getWord();
+        for (int i = 0; i < word.length(); i++){
+            char letter = word.charAt(i);
+            if (!move.isPlaced(i)){
+                line.append('(').append(letter).append(')');
+            } else {
+                line.append(move.isBlank(i) ? Character.toLowerCase(letter) : letter);
+            }
+        }
+        this.turns.add(line.append(' ').append(score).toString());
+    }
+
+    /**
+     * adds an exchange
+     * @param letters tiles put back, ' ' for a blank
+     */
+    public void addExchange(char[] letters){
+        this.turns.add("exchange " + new String(letters).replace(MoveGenerator.BLANK, '?'));
+    }
+
+    /**
+     * checks if a turn is an exchange
+     * @param turn line of a turn
+     * @return true if it is an exchange
+     */
+    public static boolean isExchange(String turn){
+        return turn.startsWith("exchange ");
+    }
+
+    /**
+     * reads the tiles of an exchange
+     * @param turn line of an exchange
+     * @return tiles put back, ' ' for a blank
+     */
+    public static char[] parseExchange(String turn){
+        return turn.substring("exchange ".length()).trim().replace('?', MoveGenerator.BLANK).toCharArray();
+    }
+
+    /**
+     * reads a move
+     * @param turn line of a move
+     * @return move, with the score it was recorded with
+     */
+    public static Move parseMove(String turn){
+        String[] parts = SPACES.split(turn.trim());
+        if (parts.length != 5 || !(parts[2].equals("across") || parts[2].equals("down"))){
+            throw new IllegalArgumentException("not a move: " + turn);
+        }
+        StringBuilder word = new StringBuilder();
+        int placed = 0;
+        int blanks = 0;
+        boolean onBoard = false;
+        for (int i = 0; i < parts[3].length(); i++){
+            char c = parts[3].charAt(i);
+            if (c == '(' || c == ')'){
+                onBoard = c == '(';
+                continue;
+            }
+            char letter = Character.toUpperCase(c);
+            if (letter < 'A' || letter > 'Z'){
+                throw new IllegalArgumentException("not a move: " + turn);
+            }
+            if (!onBoard){
+                placed |= 1 << word.length();
+                if (c != letter){
+                    blanks |= 1 << word.length();
+                }
+            }
+            word.append(letter);
+        }
+        return new Move(Integer.parseInt(parts[0]), Integer.parseInt(parts[1]), parts[2].equals("across"),
+                word.toString(), placed, blanks, Integer.parseInt(parts[4]));
+    }
+
+    /**
+     * reads a record file
+     * @param file record file
+     * @return record
+     */
+    public static GameRecord read(File file) throws IOException {
+        GameRecord record = null;
+        for (String line : Files.readAllLines(file.toPath(), StandardCharsets.UTF_8)){
+            if (line.isEmpty() || line.startsWith("#")){
+                continue;
+            }
+            if (record == null){
+                if (!line.startsWith("seed ")){
+                    throw new IOException(file + " does not start with a seed");
+                }
+                record = new GameRecord(Long.parseLong(line.substring("seed ".length()).trim()));
+            } else if (record.turns.isEmpty() && line.startsWith("layout ")){
+                record.layout = line.substring("layout ".length()).trim();
+            } else {
+                record.turns.add(line);
+            }
+        }
+        if (record == null){
+            throw new IOException(file + " is empty");
+        }
+        return record;
+    }
+
+    /**
+     * writes the record to a file, through a temporary file so a file
+     * being rewritten is never left half written
+     * @param file record file
+     */
+    public void write(File file) throws IOException {
+        ArrayList<String> lines = new ArrayList<>(this.turns.size() + 2);
+        lines.add("seed " + this.seed);
+        lines.add("layout " + this.layout);
+        lines.addAll(this.turns);
+        File temporary = new File(file.getPath() + ".tmp");
+        Files.write(temporary.toPath(), lines, StandardCharsets.UTF_8);
+        Files.move(temporary.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+    }
+}
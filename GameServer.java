@@ -0,0 +1,221 @@
+package indy;
+
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * GameServer hosts many games at once in one process, without any graphics
+ * Every game picks a dictionary by id from the server's LexiconRegistry, which
+ * shares each one between games and can swap in a new version while they
+ * run, and keeps only its own GameState, a few kilobytes. Each game runs
+ * on its own thread; on Java 21 and newer these are virtual threads, so tens
+ * of thousands of games cost little more than their state. Older Java
+ * versions fall back to a platform thread per game
+ */
+public class GameServer {
+    private LexiconRegistry lexicons;
+    private ThreadFactory threadFactory;
+    private boolean virtualThreads;
+    private ConcurrentHashMap<Integer, GameSession> sessions;
+    private AtomicInteger nextId;
+
+    /**
+     * constructor for gameServer with one dictionary, under LexiconRegistry.DEFAULT_ID
+     * @param myWordTree dictionary shared by every game
+     */
+    public GameServer(WordTree myWordTree){
+        this(new LexiconRegistry());
+        this.lexicons.swap(LexiconRegistry.DEFAULT_ID, myWordTree);
+    }
+
+    /**
+     * constructor for gameServer
+     * @param myLexicons dictionaries games can pick from
+     */
+    public GameServer(LexiconRegistry myLexicons){
+        this.lexicons = myLexicons;
+        this.threadFactory = createVirtualThreadFactory();
+        this.virtualThreads = this.threadFactory != null;
+        if (!this.virtualThreads){
+            AtomicInteger count = new AtomicInteger();
+            this.threadFactory = (Runnable runnable) -> {
+                Thread thread = new Thread(runnable, "game-" + count.getAndIncrement());
+                thread.setDaemon(true);
+                return thread;
+            };
+        }
+        this.sessions = new ConcurrentHashMap<>();
+        this.nextId = new AtomicInteger();
+    }
+
+    /**
+     * makes virtual threads if this Java has them, looked up by reflection
+     * because the project is still built for Java 8
+     * @return thread factory for game sessions, null if there are no virtual threads
+     */
+    private static ThreadFactory createVirtualThreadFactory(){
+        try {
+            Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            builder = builderClass.getMethod("name", String.class, long.class).invoke(builder, "game-", 0L);
+            Method factory = builderClass.getMethod("factory");
+            return (ThreadFactory) factory.invoke(builder);
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+
+    /**
+     * checks if games run on virtual threads
+     * @return true on Java 21 and newer
+     */
+    public boolean usesVirtualThreads(){
+        return this.virtualThreads;
+    }
+
+    /**
+     * starts a new game with a random bag
+     * @return id of the game
+     */
+    public int createGame(){
+        return this.createGame(new TileBag());
+    }
+
+    /**
+     * starts a new game
+     * @param bag bag the game is dealt from
+     * @return id of the game
+     */
+    public int createGame(TileBag bag){
+        return this.createGame(bag, BoardLayout.SMALL);
+    }
+
+    /**
+     * starts a new game on a given board, games of the same variant share its layout
+     * @param bag bag the game is dealt from
+     * @param layout layout of the board, e.g. BoardLayout.SUPER
+     * @return id of the game
+     */
+    public int createGame(TileBag bag, BoardLayout layout){
+        return this.createGame(bag, layout, LexiconRegistry.DEFAULT_ID);
+    }
+
+    /**
+     * starts a new game on a given board with a given dictionary
+     * @param bag bag the game is dealt from
+     * @param layout layout of the board, e.g. BoardLayout.SUPER
+     * @param lexiconId id of the dictionary in the server's registry
+     * @return id of the game
+     */
+    public int createGame(TileBag bag, BoardLayout layout, String lexiconId){
+        //fails now for an unknown id, and starts loading a dictionary no game has used yet
+        this.lexicons.load(lexiconId);
+        int id = this.nextId.getAndIncrement();
+        GameSession session = new GameSession(id, new GameState(bag, layout), this.lexicons, lexiconId);
+        this.sessions.put(id, session);
+        this.threadFactory.newThread(session).start();
+        return id;
+    }
+
+    /**
+     * finds a running game
+     * @param gameId id of the game
+     * @return session of the game
+     */
+    private GameSession getSession(int gameId){
+        GameSession session = this.sessions.get(gameId);
+        if (session == null){
+            throw new IllegalArgumentException("no game with id " + gameId);
+        }
+        return session;
+    }
+
+    /**
+     * submits a move, with the same rules as Game.checkMove
+     * @param gameId id of the game
+     * @param player player making the move, 1 or 2
+     * @param move tiles to place
+     * @return future result of the move
+     */
+    public CompletableFuture<MoveResult> submitMove(int gameId, int player, Move move){
+        return this.getSession(gameId).submitMove(player, move);
+    }
+
+    /**
+     * gets a copy of a player's rack
+     * @param gameId id of the game
+     * @param player 1 or 2
+     * @return future letters on the rack, ' ' for a blank
+     */
+    public CompletableFuture<List<Character>> getRack(int gameId, int player){
+        return this.getSession(gameId).getRack(player);
+    }
+
+    /**
+     * gets a player's score
+     * @param gameId id of the game
+     * @param player 1 or 2
+     * @return future score
+     */
+    public CompletableFuture<Integer> getScore(int gameId, int player){
+        return this.getSession(gameId).getScore(player);
+    }
+
+    /**
+     * gets whose turn it is
+     * @param gameId id of the game
+     * @return future 1 or 2
+     */
+    public CompletableFuture<Integer> getTurn(int gameId){
+        return this.getSession(gameId).getTurn();
+    }
+
+    /**
+     * ends a game and stops its thread once its pending commands have run
+     * commands sent to it after this fail, see GameSession
+     * @param gameId id of the game
+     */
+    public void endGame(int gameId){
+        GameSession session = this.sessions.remove(gameId);
+        if (session != null){
+            session.close();
+        }
+    }
+
+    /**
+     * accessor for the number of games running
+     * @return game count
+     */
+    public int getGameCount(){
+        return this.sessions.size();
+    }
+
+    /**
+     * ends every game
+     */
+    public void shutdown(){
+        for (Integer gameId : this.sessions.keySet()){
+            this.endGame(gameId);
+        }
+    }
+
+    /**
+     * accessor for the current version of the default dictionary
+     * @return wordTree
+     */
+    public WordTree getWordTree(){
+        return this.lexicons.get(LexiconRegistry.DEFAULT_ID).getWordTree();
+    }
+
+    /**
+     * accessor for the dictionaries games pick from, e.g. to reload one
+     * @return registry
+     */
+    public LexiconRegistry getLexicons(){
+        return this.lexicons;
+    }
+}
@@ -0,0 +1,188 @@
+package indy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.function.Supplier;
+
+/**
+ * GameSession is one game hosted by GameServer
+ * Owns a GameState and runs every command for it, one at a time and in the
+ * order they were sent, on the session's own thread, so the state needs no
+ * locks. Callers get a future for each command instead of waiting on it.
+ * Every future completes: commands sent after the session is closed, or
+ * left over when its thread stops, fail with an IllegalStateException
+ */
+public class GameSession implements Runnable {
+    //queued by close, stops the session's thread once the commands before it have run
+    private static final Command<Void> STOP = new Command<>(null);
+
+    private int id;
+    private GameState gameState;
+    //the game's dictionary is looked up by id for each move, so it picks up new versions
+    private LexiconRegistry lexicons;
+    private String lexiconId;
+    private LinkedBlockingQueue<Command<?>> commands;
+    //set once no more commands are taken, only changed while holding the session's lock
+    private boolean closed;
+
+    /**
+     * constructor for gameSession
+     * @param myId id of the game on its server
+     * @param myGameState game being played
+     * @param myLexicons registry of the dictionaries shared by every game on the server
+     * @param myLexiconId id of the game's dictionary
+     */
+    public GameSession(int myId, GameState myGameState, LexiconRegistry myLexicons, String myLexiconId){
+        this.id = myId;
+        this.gameState = myGameState;
+        this.lexicons = myLexicons;
+        this.lexiconId = myLexiconId;
+        this.commands = new LinkedBlockingQueue<>();
+    }
+
+    /**
+     * accessor for the id
+     * @return id
+     */
+    public int getId(){
+        return this.id;
+    }
+
+    /**
+     * runs commands until the session is closed, on the session's thread
+     * commands still queued when it stops are failed
+     */
+    @Override
+    public void run(){
+        try {
+            Command<?> command = this.commands.take();
+            while (command != STOP){
+                command.run();
+                command = this.commands.take();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            synchronized (this){
+                this.closed = true;
+            }
+            ArrayList<Command<?>> left = new ArrayList<>();
+            this.commands.drainTo(left);
+            for (Command<?> command : left){
+                command.fail();
+            }
+        }
+    }
+
+    /**
+     * queues a command for the session's thread
+     * @param command reads or changes the game
+     * @param <T> type of the result
+     * @return future that completes with the result once the command has run, or
+     *         fails with an IllegalStateException if the session is closed
+     */
+    public <T> CompletableFuture<T> send(Supplier<T> command){
+        Command<T> queued = new Command<>(command);
+        synchronized (this){
+            if (this.closed){
+                queued.fail();
+            } else {
+                this.commands.add(queued);
+            }
+        }
+        return queued.result;
+    }
+
+    /**
+     * submits a move for a player, with the same rules as Game.checkMove
+     * @param player 1 or 2
+     * @param move tiles to place
+     * @return future result of the move
+     */
+    public CompletableFuture<MoveResult> submitMove(int player, Move move){
+        return this.send(() -> {
+            if (player != this.gameState.getTurn()){
+                return new MoveResult(MoveResult.Status.NOT_YOUR_TURN, 0, new ArrayList<>(), null);
+            }
+            //checked against the version current when the move starts
+            return this.gameState.play(move, this.lexicons.get(this.lexiconId).getWordTree());
+        });
+    }
+
+    /**
+     * gets a copy of a player's rack
+     * @param player 1 or 2
+     * @return future letters on the rack, ' ' for a blank
+     */
+    public CompletableFuture<List<Character>> getRack(int player){
+        return this.send(() -> new ArrayList<>(this.gameState.getRack(player)));
+    }
+
+    /**
+     * gets a player's score
+     * @param player 1 or 2
+     * @return future score
+     */
+    public CompletableFuture<Integer> getScore(int player){
+        return this.send(() -> this.gameState.getScore(player));
+    }
+
+    /**
+     * gets whose turn it is
+     * @return future 1 or 2
+     */
+    public CompletableFuture<Integer> getTurn(){
+        return this.send(() -> this.gameState.getTurn());
+    }
+
+    /**
+     * stops the session's thread once the commands already sent have run,
+     * commands sent after this fail
+     */
+    public synchronized void close(){
+        if (!this.closed){
+            this.closed = true;
+            this.commands.add(STOP);
+        }
+    }
+
+    /**
+     * command waiting for the session's thread, with the future of its result
+     * @param <T> type of the result
+     */
+    private static class Command<T> implements Runnable {
+        private Supplier<T> supplier;
+        private CompletableFuture<T> result;
+
+        /**
+         * constructor for command
+         * @param mySupplier reads or changes the game
+         */
+        private Command(Supplier<T> mySupplier){
+            this.supplier = mySupplier;
+            this.result = new CompletableFuture<>();
+        }
+
+        /**
+         * runs the command, anything it throws fails its future instead of
+         * stopping the session's thread
+         */
+        @Override
+        public void run(){
+            try {
+                this.result.complete(this.supplier.get());
+            } catch (Throwable e) {
+                this.result.completeExceptionally(e);
+            }
+        }
+
+        /**
+         * fails the command without running it, the game has ended
+         */
+        private void fail(){
+            this.result.completeExceptionally(new IllegalStateException("game ended"));
+        }
+    }
+}
@@ -0,0 +1,455 @@
+package indy;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * GameState is the whole state of one game with no graphics
+ * Holds the board, the bag, both racks, the scores and whose turn it is,
+ * and applies the rules when a move is submitted. Game shows it on screen,
+ * and it can also be played on its own, e.g. by simulations
+ */
+public class GameState {
+    public static final int RACK_SIZE = 7;
+
+    private BoardState board;
+    private TileBag bag;
+    private ArrayList<Character> rack1;
+    private ArrayList<Character> rack2;
+    private int score1 = 0;
+    private int score2 = 0;
+    private int turn = 1;
+    private int[] rackCounts = new int[Dawg.ALPHABET_SIZE + 1];
+    //saves every move if the game is being saved, null otherwise
+    private GameJournal journal;
+    //lexicon the board's cross-checks were worked out with, null before the first tile
+    private Dawg crossCheckDawg;
+
+    /**
+     * constructor for gameState
+     * player 1 goes first and gets a full rack
+     */
+    public GameState(){
+        this(new TileBag());
+    }
+
+    /**
+     * constructor for gameState with a given bag
+     * @param myBag bag the racks are filled from
+     */
+    public GameState(TileBag myBag){
+        this(myBag, BoardLayout.SMALL);
+    }
+
+    /**
+     * constructor for gameState with a given bag and board
+     * @param myBag bag the racks are filled from
+     * @param myLayout layout of the board, e.g. BoardLayout.STANDARD for 15x15
+     */
+    public GameState(TileBag myBag, BoardLayout myLayout){
+        this.board = new BoardState(myLayout);
+        this.bag = myBag;
+        this.rack1 = new ArrayList<>();
+        this.rack2 = new ArrayList<>();
+        this.fillRack(this.turn);
+    }
+
+    /**
+     * constructor for a saved gameState, see GameJournal
+     * @param myBoard board with the scored tiles
+     * @param myBag bag with the tiles not drawn yet
+     * @param myRack1 player 1's rack
+     * @param myRack2 player 2's rack
+     * @param myScore1 player 1's score
+     * @param myScore2 player 2's score
+     * @param myTurn whose turn it is
+     * @param myCrossCheckDawg lexicon the board's cross-checks were worked out with
+     */
+    GameState(BoardState myBoard, TileBag myBag, List<Character> myRack1, List<Character> myRack2,
+              int myScore1, int myScore2, int myTurn, Dawg myCrossCheckDawg){
+        this.board = myBoard;
+        this.crossCheckDawg = myCrossCheckDawg;
+        this.bag = myBag;
+        this.rack1 = new ArrayList<>(myRack1);
+        this.rack2 = new ArrayList<>(myRack2);
+        this.score1 = myScore1;
+        this.score2 = myScore2;
+        this.turn = myTurn;
+    }
+
+    /**
+     * starts saving every move, see GameJournal
+     * @param myJournal journal moves are written to, null to stop saving
+     */
+    public void setJournal(GameJournal myJournal){
+        this.journal = myJournal;
+    }
+
+    /**
+     * accessor for the board
+     * @return board
+     */
+    public BoardState getBoard(){
+        return this.board;
+    }
+
+    /**
+     * makes sure the board's cross-checks come from a lexicon, working them all
+     * out again if they came from another one, e.g. before a new version of the
+     * game's lexicon is used; moves generated on the board need the same dawg
+     * its cross-checks came from, see MoveGenerator
+     * @param dawg lexicon moves are generated and checked with from now on
+     */
+    public void useDawg(Dawg dawg){
+        if (dawg != this.crossCheckDawg){
+            if (this.crossCheckDawg != null){
+                this.board.rebuildCrossChecks(dawg);
+            }
+            this.crossCheckDawg = dawg;
+        }
+    }
+
+    /**
+     * accessor for the bag
+     * @return bag
+     */
+    public TileBag getBag(){
+        return this.bag;
+    }
+
+    /**
+     * accessor for a player's rack, ' ' is a blank
+     * @param player 1 or 2
+     * @return letters on the rack, in the order they were drawn
+     */
+    public ArrayList<Character> getRack(int player){
+        return player == 1 ? this.rack1 : this.rack2;
+    }
+
+    /**
+     * accessor for a player's score
+     * @param player 1 or 2
+     * @return score
+     */
+    public int getScore(int player){
+        return player == 1 ? this.score1 : this.score2;
+    }
+
+    /**
+     * accessor for whose turn it is
+     * @return 1 or 2
+     */
+    public int getTurn(){
+        return this.turn;
+    }
+
+    /**
+     * draws tiles until a player's rack is full or the bag is empty
+     * @param player 1 or 2
+     */
+    public void fillRack(int player){
+        ArrayList<Character> rack = this.getRack(player);
+        while (rack.size() < RACK_SIZE && !this.bag.isEmpty()){
+            rack.add(this.bag.draw());
+        }
+    }
+
+    /**
+     * puts a move's tiles on the board and submits it
+     * the new tiles have to go on empty squares and the rest of the word has to
+     * be the letters already on the board, otherwise nothing is placed
+     * @param move move for the current player
+     * @param wordTree dictionary
+     * @return result of the move
+     */
+    public MoveResult play(Move move, WordTree wordTree){
+        //new tiles can only go on empty squares, and letters not placed have to be on the board
+        for (int i = 0; i < move.getWord().length(); i++){
+            int row = move.getRow(i);
+            int col = move.getCol(i);
+            char letter = move.isPlaced(i) ? BoardState.EMPTY : move.getWord().charAt(i);
+            if (row < 0 || row >= this.board.getSize() || col < 0 || col >= this.board.getSize()
+                    || this.board.getLetter(row, col) != letter){
+                this.board.clearTemporary();
+                return new MoveResult(MoveResult.Status.INVALID_SQUARE, 0, new ArrayList<>(), null);
+            }
+        }
+        for (int i = 0; i < move.getWord().length(); i++){
+            if (move.isPlaced(i)){
+                this.board.placeTile(move.getRow(i), move.getCol(i), move.getWord().charAt(i),
+                        move.isBlank(i));
+            }
+        }
+        return this.submit(wordTree);
+    }
+
+    /**
+     * checks the tiles placed on the board this turn, the rules of a submit
+     * if every word is valid the move is scored, the tiles are taken off the
+     * current player's rack and it becomes the other player's turn, whose rack
+     * is then filled; otherwise the tiles are taken back off the board
+     * @param wordTree dictionary
+     * @return result of the move
+     */
+    public MoveResult submit(WordTree wordTree){
+        this.useDawg(wordTree.getDawg());
+        long start = Metrics.start();
+        int score = this.board.scorePlacedWords();
+        ArrayList<String> words = new ArrayList<>(this.board.getWordCount());
+        this.board.addWords(words);
+        Metrics.FIND_WORDS.recordSince(start);
+
+        //if no tiles, there is nothing to score and the turn does not switch
+        if (words.isEmpty()){
+            this.board.clearTemporary();
+            return new MoveResult(MoveResult.Status.NO_WORDS, 0, words, null);
+        }
+
+        //every new tile has to touch the tiles already on the board
+        if (!this.board.isPlacedConnected()){
+            this.board.clearTemporary();
+            return new MoveResult(MoveResult.Status.NOT_CONNECTED, 0, words, null);
+        }
+
+        //checks all words found against the dictionary
+        int invalid = this.board.findInvalidWord(wordTree.getDawg());
+        if (Metrics.ENABLED){
+            //words after an invalid one are not looked up
+            Metrics.WORD_HITS.add(invalid < 0 ? words.size() : invalid);
+            Metrics.WORD_MISSES.add(invalid < 0 ? 0 : 1);
+        }
+        if (invalid >= 0){
+            this.board.clearTemporary();
+            return new MoveResult(MoveResult.Status.INVALID_WORD, 0, words, words.get(invalid));
+        }
+
+        //every new tile has to come from the current player's rack
+        ArrayList<Character> rack = this.getRack(this.turn);
+        if (!this.isOnRack(rack)){
+            this.board.clearTemporary();
+            return new MoveResult(MoveResult.Status.NOT_ON_RACK, 0, words, null);
+        }
+
+        //now that words are checked, make tiles permanent
+        int player = this.turn;
+        int[] squares = this.journal == null ? null : this.getPlacedSquares();
+        for (int k = 0; k < this.board.getPlacedCount(); k++){
+            rack.remove((Character) this.getPlacedTile(k));
+        }
+        this.board.commit(wordTree.getDawg());
+        if (this.turn == 1){
+            this.score1 += score;
+        } else {
+            this.score2 += score;
+        }
+        this.switchTurns();
+        List<Character> filled = this.fillNewRack();
+        if (this.journal != null){
+            this.journal.logMove(this, player, squares, score, filled);
+        }
+        return new MoveResult(MoveResult.Status.VALID, score, words, null);
+    }
+
+    /**
+     * swaps tiles on the current player's rack for tiles from the bag, which uses the turn
+     * the bag has to have at least a full rack of tiles left
+     * @param letters letters to swap, ' ' for a blank
+     * @return true if the tiles were swapped, false if they are not all on the rack or
+     * the bag is too low
+     */
+    public boolean exchange(char[] letters){
+        if (letters.length == 0 || this.bag.size() < RACK_SIZE){
+            return false;
+        }
+        ArrayList<Character> rack = this.getRack(this.turn);
+        Arrays.fill(this.rackCounts, 0);
+        for (char letter : rack){
+            this.rackCounts[this.getCountIndex(letter)]++;
+        }
+        for (char letter : letters){
+            int index = this.getCountIndex(letter);
+            if (index < 0 || --this.rackCounts[index] < 0){
+                return false;
+            }
+        }
+        for (char letter : letters){
+            rack.remove((Character) letter);
+        }
+        int player = this.turn;
+        char[] drawn = this.bag.exchange(letters);
+        for (char letter : drawn){
+            rack.add(letter);
+        }
+        this.switchTurns();
+        List<Character> filled = this.fillNewRack();
+        if (this.journal != null){
+            this.journal.logExchange(this, player, letters, drawn, filled);
+        }
+        return true;
+    }
+
+    /**
+     * puts a saved move back on the board, the tiles it drew are drawn again
+     * @param squares squares of the new tiles as row * size + col
+     * @param letters letters of the new tiles
+     * @param blanks which new tiles are blanks
+     * @param score score the move was given
+     * @param filled tiles the next player drew
+     * @param dawg lexicon the cross-checks are based on
+     */
+    void replayMove(int[] squares, char[] letters, boolean[] blanks, int score, char[] filled, Dawg dawg){
+        this.useDawg(dawg);
+        int size = this.board.getSize();
+        for (int k = 0; k < squares.length; k++){
+            int row = squares[k] / size;
+            int col = squares[k] % size;
+            if (this.board.getLetter(row, col) != BoardState.EMPTY){
+                this.board.clearTemporary();
+                throw new IllegalStateException("square " + row + "," + col + " is not empty");
+            }
+            this.board.placeTile(row, col, letters[k], blanks[k]);
+        }
+        int found = this.board.scorePlacedWords();
+        ArrayList<Character> rack = this.getRack(this.turn);
+        if (found != score || !this.isOnRack(rack)){
+            this.board.clearTemporary();
+            throw new IllegalStateException("move scored " + found + " instead of " + score
+                    + " or is not on player " + this.turn + "'s rack");
+        }
+        for (int k = 0; k < this.board.getPlacedCount(); k++){
+            rack.remove((Character) this.getPlacedTile(k));
+        }
+        this.board.commit(dawg);
+        if (this.turn == 1){
+            this.score1 += score;
+        } else {
+            this.score2 += score;
+        }
+        this.switchTurns();
+        this.drawAgain(this.getRack(this.turn), filled);
+    }
+
+    /**
+     * does a saved exchange again, the tiles it drew are drawn again
+     * @param letters tiles put back
+     * @param drawn tiles drawn for them
+     * @param filled tiles the next player drew
+     */
+    void replayExchange(char[] letters, char[] drawn, char[] filled){
+        ArrayList<Character> rack = this.getRack(this.turn);
+        for (char letter : letters){
+            if (!rack.remove((Character) letter)){
+                throw new IllegalStateException("'" + letter + "' is not on player " + this.turn + "'s rack");
+            }
+        }
+        this.drawAgain(rack, drawn);
+        for (char letter : letters){
+            this.bag.putBack(letter);
+        }
+        this.switchTurns();
+        this.drawAgain(this.getRack(this.turn), filled);
+    }
+
+    /**
+     * takes given tiles out of the bag onto a rack
+     * @param rack rack the tiles go on
+     * @param letters tiles to take
+     */
+    private void drawAgain(ArrayList<Character> rack, char[] letters){
+        for (char letter : letters){
+            this.bag.take(letter);
+            rack.add(letter);
+        }
+    }
+
+    /**
+     * fills the rack of the player whose turn it now is
+     * @return tiles drawn
+     */
+    private List<Character> fillNewRack(){
+        ArrayList<Character> rack = this.getRack(this.turn);
+        int before = rack.size();
+        this.fillRack(this.turn);
+        return rack.subList(before, rack.size());
+    }
+
+    /**
+     * squares of the tiles placed this turn
+     * @return squares as row * size + col
+     */
+    private int[] getPlacedSquares(){
+        int[] squares = new int[this.board.getPlacedCount()];
+        for (int k = 0; k < squares.length; k++){
+            squares[k] = this.board.getPlacedRow(k) * this.board.getSize() + this.board.getPlacedCol(k);
+        }
+        return squares;
+    }
+
+    /**
+     * checks that the rack has a tile for every tile placed this turn
+     * @param rack current player's rack
+     * @return true if every placed tile is on the rack
+     */
+    private boolean isOnRack(ArrayList<Character> rack){
+        //counts of each letter on the rack, blanks at the end
+        Arrays.fill(this.rackCounts, 0);
+        for (char letter : rack){
+            this.rackCounts[this.getCountIndex(letter)]++;
+        }
+        for (int k = 0; k < this.board.getPlacedCount(); k++){
+            int index = this.getCountIndex(this.getPlacedTile(k));
+            if (index < 0 || --this.rackCounts[index] < 0){
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * index of a rack letter in rackCounts
+     * @param letter letter, ' ' for a blank
+     * @return index, -1 if it is not a letter
+     */
+    private int getCountIndex(char letter){
+        if (letter == MoveGenerator.BLANK){
+            return Dawg.ALPHABET_SIZE;
+        }
+        return letter >= 'A' && letter <= 'Z' ? letter - 'A' : -1;
+    }
+
+    /**
+     * rack letter of a tile placed this turn
+     * @param index 0 to getPlacedCount() - 1
+     * @return letter, ' ' for blanks
+     */
+    private char getPlacedTile(int index){
+        int row = this.board.getPlacedRow(index);
+        int col = this.board.getPlacedCol(index);
+        return this.board.isBlank(row, col) ? MoveGenerator.BLANK : this.board.getLetter(row, col);
+    }
+
+    /**
+     * switches turn to other player based on current player
+     */
+    private void switchTurns(){
+        if (this.turn == 1){
+            this.turn = 2;
+        } else {
+            this.turn = 1;
+        }
+    }
+
+    /**
+     * rack of the current player as an array, the form MoveGenerator takes
+     * @return rack letters
+     */
+    public char[] getRackLetters(){
+        List<Character> rack = this.getRack(this.turn);
+        char[] letters = new char[rack.size()];
+        for (int i = 0; i < letters.length; i++){
+            letters[i] = rack.get(i);
+        }
+        return letters;
+    }
+}
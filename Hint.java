@@ -0,0 +1,99 @@
+package indy;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Hint is one search for the best move of a rack, see HintEngine
+ * The best move so far can be read from any thread while the search runs
+ */
+public class Hint {
+    private volatile Move best;
+    private volatile boolean stopped;
+    private CompletableFuture<Move> result;
+    private CompletableFuture<Move> finished;
+
+    /**
+     * constructor for hint, before its search starts
+     */
+    public Hint(){
+        this.result = new CompletableFuture<>();
+        this.finished = new CompletableFuture<>();
+    }
+
+    /**
+     * accessor for the best move found so far
+     * @return move, or null if none has been found yet
+     */
+    public Move getBest(){
+        return this.best;
+    }
+
+    /**
+     * accessor for the score of the best move found so far
+     * @return score, -1 if no move has been found yet
+     */
+    public int getBestScore(){
+        Move move = this.best;
+        return move == null ? -1 : move.getScore();
+    }
+
+    /**
+     * future for the hint to show, completes with the best move found when the
+     * time budget runs out, or sooner if the whole search finishes first
+     * @return future of the move, which is null if there is no move
+     */
+    public CompletableFuture<Move> getResult(){
+        return this.result;
+    }
+
+    /**
+     * future that completes once the search has stopped, either because it
+     * looked at every move or because it was stopped
+     * @return future of the best move found, which is null if there is no move
+     */
+    public CompletableFuture<Move> getFinished(){
+        return this.finished;
+    }
+
+    /**
+     * checks if every move has been looked at, so the best move is the best there is
+     * @return true if the search finished without being stopped
+     */
+    public boolean isComplete(){
+        return this.finished.isDone() && !this.stopped;
+    }
+
+    /**
+     * stops the search, the best move so far is kept
+     */
+    public void cancel(){
+        this.stopped = true;
+    }
+
+    /**
+     * checks if the search should give up
+     * @return true once cancelled or out of time
+     */
+    boolean isStopped(){
+        return this.stopped;
+    }
+
+    /**
+     * keeps a move if it is better than the best so far, called by the search
+     * @param move move found
+     */
+    void offer(Move move){
+        if (move.getScore() > this.getBestScore()) {
+            this.best = move;
+        }
+    }
+
+    /**
+     * called by the search once it stops, completes both futures
+     */
+    void finish(){
+        Move move = this.best;
+        this.result.complete(move);
+        this.finished.complete(move);
+    }
+}
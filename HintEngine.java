@@ -0,0 +1,95 @@
+package indy;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * HintEngine looks for the best move for a rack within a time budget
+ * The board is copied when a hint is asked for, and the search runs on a
+ * thread of its own with MoveGenerator only keeping the best move so far.
+ * When the budget runs out the hint's result is completed with the best move
+ * found by then, from a timer thread, so the budget holds however long the
+ * whole search would take (e.g. a rack with two blanks). The search then
+ * either stops or keeps improving the move until it has looked at every one.
+ * Nothing here ever waits, so it can be called from the ui thread
+ */
+public class HintEngine {
+    public static final long DEFAULT_BUDGET_MILLIS = 50;
+
+    private Dawg dawg;
+    private ExecutorService searches;
+    private ScheduledExecutorService timer;
+
+    /**
+     * constructor for hintEngine
+     * @param myDawg lexicon the board's cross-checks are based on
+     */
+    public HintEngine(Dawg myDawg){
+        this.dawg = myDawg;
+        //daemon threads, so a search that is still going never keeps the program open
+        ThreadFactory factory = (Runnable task) -> {
+            Thread thread = new Thread(task, "hint");
+            thread.setDaemon(true);
+            return thread;
+        };
+        this.searches = Executors.newCachedThreadPool(factory);
+        this.timer = Executors.newSingleThreadScheduledExecutor(factory);
+    }
+
+    /**
+     * starts looking for the best move for a rack, with the default budget
+     * @param board current board, copied before this returns
+     * @param rackLetters letters on the rack, ' ' for a blank
+     * @return hint, whose result completes within the budget
+     */
+    public Hint request(BoardState board, char[] rackLetters){
+        return this.request(board, rackLetters, DEFAULT_BUDGET_MILLIS, false);
+    }
+
+    /**
+     * starts looking for the best move for a rack
+     * the board is copied on the calling thread, so it can be changed
+     * right away without affecting the search
+     * @param board current board, copied before this returns
+     * @param rackLetters letters on the rack, ' ' for a blank
+     * @param budgetMillis time until the hint's result completes
+     * @param keepImproving true to keep searching after the budget until every
+     * move has been looked at or the hint is cancelled, false to stop there
+     * @return hint, whose result completes within the budget
+     */
+    public Hint request(BoardState board, char[] rackLetters, long budgetMillis, boolean keepImproving){
+        BoardState copy = new BoardState(board);
+        char[] rack = rackLetters.clone();
+        Hint hint = new Hint();
+        ScheduledFuture<?> deadline = this.timer.schedule(() -> {
+            if (!keepImproving) {
+                hint.cancel();
+            }
+            hint.getResult().complete(hint.getBest());
+        }, budgetMillis, TimeUnit.MILLISECONDS);
+        this.searches.execute(() -> {
+            try {
+                new MoveGenerator(this.dawg).search(copy, rack, hint);
+            } catch (RuntimeException e) {
+                e.printStackTrace();
+            } finally {
+                deadline.cancel(false);
+                hint.finish();
+            }
+        });
+        return hint;
+    }
+
+    /**
+     * stops taking hints, searches still going are left to finish on their daemon threads
+     * cancel their hints to stop them sooner
+     */
+    public void shutdown(){
+        this.searches.shutdownNow();
+        this.timer.shutdownNow();
+    }
+}
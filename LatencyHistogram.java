@@ -0,0 +1,228 @@
+package indy;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * LatencyHistogram counts how long something took, in nanoseconds
+ * Buckets are log-linear like an HDR histogram: values below SUB_BUCKETS
+ * each get their own bucket, and every power of two above that is split
+ * into SUB_BUCKETS / 2 equal buckets, so any value is off by at most about
+ * 3% and the whole range of a long fits in under two thousand buckets.
+ * Recording finds the bucket with a few shifts and adds one to it. Each
+ * thread adds to one of several stripes of buckets, picked by its id, so
+ * threads recording at the same time rarely touch the same memory; stripes
+ * are only made once a thread records into them and are added up when the
+ * histogram is read
+ */
+public class LatencyHistogram implements LatencyHistogramMXBean {
+    private static final int SUB_BUCKET_BITS = 6;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int HALF = SUB_BUCKETS / 2;
+    private static final int BUCKETS = getBucket(Long.MAX_VALUE) + 1;
+    private static final int STRIPES = Integer.highestOneBit(
+            Math.max(1, Runtime.getRuntime().availableProcessors() * 2 - 1)) * 2;
+
+    private String name;
+    private AtomicReferenceArray<AtomicLongArray> stripes;
+    private LongAdder sum;
+    private LongAccumulator max;
+
+    /**
+     * constructor for an empty latencyHistogram
+     * @param myName name it is shown and registered with
+     */
+    public LatencyHistogram(String myName){
+        this.name = myName;
+        this.stripes = new AtomicReferenceArray<>(STRIPES);
+        this.sum = new LongAdder();
+        this.max = new LongAccumulator(Math::max, 0);
+    }
+
+    /**
+     * records the time since a start taken with Metrics.start, if metrics are on
+     * @param start System.nanoTime() when the timed work began
+     */
+    public void recordSince(long start){
+        if (Metrics.ENABLED){
+            this.record(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * records one value
+     * @param nanos time taken, negative values count as 0
+     */
+    public void record(long nanos){
+        long value = Math.max(0, nanos);
+        int stripe = (int) Thread.currentThread().getId() & (STRIPES - 1);
+        AtomicLongArray counts = this.stripes.get(stripe);
+        if (counts == null){
+            this.stripes.compareAndSet(stripe, null, new AtomicLongArray(BUCKETS));
+            counts = this.stripes.get(stripe);
+        }
+        counts.incrementAndGet(getBucket(value));
+        this.sum.add(value);
+        this.max.accumulate(value);
+    }
+
+    /**
+     * bucket of a value
+     * @param value value, not negative
+     * @return index of its bucket
+     */
+    private static int getBucket(long value){
+        if (value < SUB_BUCKETS){
+            return (int) value;
+        }
+        //shifting off the low bits leaves the top SUB_BUCKET_BITS bits, HALF to SUB_BUCKETS - 1
+        int shift = Long.SIZE - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        return shift * HALF + (int) (value >>> shift);
+    }
+
+    /**
+     * largest value that goes in a bucket
+     * @param bucket index of the bucket
+     * @return value
+     */
+    private static long getBucketTop(int bucket){
+        if (bucket < SUB_BUCKETS){
+            return bucket;
+        }
+        int shift = bucket / HALF - 1;
+        long first = (long) (bucket % HALF + HALF) << shift;
+        return first + (1L << shift) - 1;
+    }
+
+    /**
+     * adds up every stripe
+     * @return count of each bucket
+     */
+    private long[] getCounts(){
+        long[] counts = new long[BUCKETS];
+        for (int s = 0; s < STRIPES; s++){
+            AtomicLongArray stripe = this.stripes.get(s);
+            if (stripe != null){
+                for (int b = 0; b < BUCKETS; b++){
+                    counts[b] += stripe.get(b);
+                }
+            }
+        }
+        return counts;
+    }
+
+    /**
+     * accessor for the name
+     * @return name
+     */
+    @Override
+    public String getName(){
+        return this.name;
+    }
+
+    /**
+     * accessor for the number of values recorded
+     * @return count
+     */
+    @Override
+    public long getCount(){
+        long count = 0;
+        for (long bucket : this.getCounts()){
+            count += bucket;
+        }
+        return count;
+    }
+
+    /**
+     * accessor for the average value
+     * @return mean in nanoseconds, 0 if nothing was recorded
+     */
+    @Override
+    public double getMeanNanos(){
+        long count = this.getCount();
+        return count == 0 ? 0 : (double) this.sum.sum() / count;
+    }
+
+    /**
+     * accessor for the largest value
+     * @return max in nanoseconds, exact
+     */
+    @Override
+    public long getMaxNanos(){
+        return this.max.get();
+    }
+
+    /**
+     * value that a given share of the values are at or below
+     * @param percentile e.g. 99 for the 99th percentile
+     * @return top of the bucket it falls in, 0 if nothing was recorded
+     */
+    public long getPercentileNanos(double percentile){
+        long[] counts = this.getCounts();
+        long count = 0;
+        for (long bucket : counts){
+            count += bucket;
+        }
+        if (count == 0){
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100 * count));
+        long seen = 0;
+        for (int b = 0; b < BUCKETS; b++){
+            seen += counts[b];
+            if (seen >= rank){
+                return Math.min(getBucketTop(b), this.max.get());
+            }
+        }
+        return this.max.get();
+    }
+
+    /**
+     * accessor for the 50th percentile, the median
+     * @return nanoseconds, see getPercentileNanos
+     */
+    @Override
+    public long getP50Nanos(){
+        return this.getPercentileNanos(50);
+    }
+
+    /**
+     * accessor for the 90th percentile
+     * @return nanoseconds, see getPercentileNanos
+     */
+    @Override
+    public long getP90Nanos(){
+        return this.getPercentileNanos(90);
+    }
+
+    /**
+     * accessor for the 99th percentile
+     * @return nanoseconds, see getPercentileNanos
+     */
+    @Override
+    public long getP99Nanos(){
+        return this.getPercentileNanos(99);
+    }
+
+    /**
+     * accessor for the 99.9th percentile
+     * @return nanoseconds, see getPercentileNanos
+     */
+    @Override
+    public long getP999Nanos(){
+        return this.getPercentileNanos(99.9);
+    }
+
+    /**
+     * one line summary, times in microseconds
+     * @return summary
+     */
+    @Override
+    public String toString(){
+        return String.format("%-15s count %9d  mean %9.1f  p50 %9.1f  p99 %9.1f  p99.9 %9.1f  max %9.1f us",
+                this.name, this.getCount(), this.getMeanNanos() / 1e3, this.getP50Nanos() / 1e3,
+                this.getP99Nanos() / 1e3, this.getP999Nanos() / 1e3, this.getMaxNanos() / 1e3);
+    }
+}
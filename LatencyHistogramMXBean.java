@@ -0,0 +1,23 @@
+package indy;
+
+/**
+ * LatencyHistogramMXBean is what JMX clients such as jconsole see of a
+ * LatencyHistogram, registered by Metrics as indy:type=Latency,name=<name>
+ */
+public interface LatencyHistogramMXBean {
+    String getName();
+
+    long getCount();
+
+    double getMeanNanos();
+
+    long getMaxNanos();
+
+    long getP50Nanos();
+
+    long getP90Nanos();
+
+    long getP99Nanos();
+
+    long getP999Nanos();
+}
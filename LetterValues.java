@@ -0,0 +1,35 @@
+package indy;
+
+/**
+ * LetterValues holds the official Scrabble point value of each letter
+ * Shared by Tile, which shows the value, and everything that scores moves
+ */
+public class LetterValues {
+
+    /**
+     * looks up the point value of a letter
+     * @param letter uppercase letter, or ' ' for a blank tile
+     * @return point value
+     */
+    public static int getScore(char letter){
+        //switch statement using official Scrabble point values
+        switch (letter){
+            case 'D': case 'G':
+                return 2;
+            case 'B': case 'C': case 'M': case 'P':
+                return 3;
+            case 'F': case 'H': case 'V': case 'W': case 'Y':
+                return 4;
+            case 'K':
+                return 5;
+            case 'J': case 'X':
+                return 8;
+            case 'Q': case 'Z':
+                return 10;
+            case ' ':
+                return 0;
+            default:
+                return 1;
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package indy;
+
+/**
+ * Lexicon is one version of a word list held by a LexiconRegistry
+ * A lexicon never changes: a new version of the list is a new Lexicon that
+ * replaces this one in the registry, so anything that took this one, e.g. a
+ * move being checked, finishes with the words it started with
+ */
+public final class Lexicon {
+    private String id;
+    private int version;
+    private WordTree wordTree;
+
+    /**
+     * constructor for lexicon
+     * @param myId id games pick the lexicon by
+     * @param myVersion version in its registry, newer versions are higher
+     * @param myWordTree loaded words, never changed afterwards
+     */
+    Lexicon(String myId, int myVersion, WordTree myWordTree){
+        this.id = myId;
+        this.version = myVersion;
+        this.wordTree = myWordTree;
+    }
+
+    /**
+     * accessor for the id
+     * @return id, e.g. "default"
+     */
+    public String getId(){
+        return this.id;
+    }
+
+    /**
+     * accessor for the version
+     * @return version, higher for newer versions of the same id
+     */
+    public int getVersion(){
+        return this.version;
+    }
+
+    /**
+     * accessor for the words
+     * @return wordTree
+     */
+    public WordTree getWordTree(){
+        return this.wordTree;
+    }
+
+    /**
+     * id and version, e.g. default v2
+     * @return description
+     */
+    @Override
+    public String toString(){
+        return this.id + " v" + this.version;
+    }
+}
@@ -0,0 +1,194 @@
+package indy;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * LexiconRegistry holds every word list in use, each loaded once and shared
+ * Games pick a lexicon by id, e.g. a tournament list or another language, and
+ * ask the registry for its current version whenever they check a move. A
+ * lexicon is loaded in the background the first time it is asked for, and a
+ * new version can be loaded while games are running: it is built off to the
+ * side and then put in place in one step, so a move being checked keeps the
+ * version it started with and the next move gets the new one
+ */
+public class LexiconRegistry {
+    public static final String DEFAULT_ID = "default";
+
+    //registry the game uses, see getShared
+    private static LexiconRegistry shared;
+
+    //word list and snapshot of each lexicon
+    private ConcurrentHashMap<String, File[]> sources;
+    //current version of each lexicon, completes once it has loaded
+    private ConcurrentHashMap<String, CompletableFuture<Lexicon>> lexicons;
+    private AtomicInteger nextVersion;
+
+    /**
+     * constructor for an empty lexiconRegistry
+     */
+    public LexiconRegistry(){
+        this.sources = new ConcurrentHashMap<>();
+        this.lexicons = new ConcurrentHashMap<>();
+        this.nextVersion = new AtomicInteger(1);
+    }
+
+    /**
+     * registry shared by everything in this process
+     * DEFAULT_ID is the word list in Constants, overridden by the indy.wordList and
+     * indy.wordSnapshot properties like WordTree, and indy.lexicons adds more as
+     * id=wordList pairs split by commas, e.g. collins=lists/collins.txt
+     * @return the shared registry
+     */
+    public static synchronized LexiconRegistry getShared(){
+        if (shared == null){
+            shared = new LexiconRegistry();
+            shared.define(DEFAULT_ID, new File(System.getProperty("indy.wordList", Constants.WORD_LIST_PATH)),
+                    new File(System.getProperty("indy.wordSnapshot", Constants.WORD_SNAPSHOT_PATH)));
+            for (String pair : System.getProperty("indy.lexicons", "").split(",")){
+                int split = pair.indexOf('=');
+                if (split > 0){
+                    shared.define(pair.substring(0, split).trim(), new File(pair.substring(split + 1).trim()));
+                }
+            }
+        }
+        return shared;
+    }
+
+    /**
+     * says where a lexicon is loaded from, its snapshot goes next to the word
+     * list with a .dawg extension
+     * @param id id games pick it by
+     * @param wordList text file of its words
+     */
+    public void define(String id, File wordList){
+        String path = wordList.getPath();
+        int dot = path.lastIndexOf('.');
+        String base = dot > path.lastIndexOf(File.separatorChar) ? path.substring(0, dot) : path;
+        this.define(id, wordList, new File(base + ".dawg"));
+    }
+
+    /**
+     * says where a lexicon is loaded from
+     * a lexicon that is already loaded keeps its words until it is reloaded
+     * @param id id games pick it by
+     * @param wordList text file of its words
+     * @param snapshot precompiled dawg of the words, see DawgFile
+     */
+    public void define(String id, File wordList, File snapshot){
+        this.sources.put(id, new File[]{wordList, snapshot});
+    }
+
+    /**
+     * current version of a lexicon, loading it in the background the first time
+     * a load that fails is forgotten, so the next call tries again
+     * @param id id of the lexicon
+     * @return future that completes once it has loaded, or exceptionally if it could not be
+     */
+    public CompletableFuture<Lexicon> load(String id){
+        CompletableFuture<Lexicon> lexicon = this.lexicons.get(id);
+        if (lexicon != null){
+            return lexicon;
+        }
+        File[] source = this.getSource(id);
+        CompletableFuture<Lexicon> loading = new CompletableFuture<>();
+        lexicon = this.lexicons.putIfAbsent(id, loading);
+        if (lexicon != null){
+            return lexicon;
+        }
+        CompletableFuture.supplyAsync(() -> new Lexicon(id, this.nextVersion.getAndIncrement(), build(source)))
+                .whenComplete((Lexicon loaded, Throwable e) -> {
+                    if (e != null){
+                        //taken out before anyone sees the failure, so they can try again
+                        this.lexicons.remove(id, loading);
+                        loading.completeExceptionally(e);
+                    } else {
+                        loading.complete(loaded);
+                    }
+                });
+        return loading;
+    }
+
+    /**
+     * current version of a lexicon, waiting for it to load if it has not yet
+     * take it once per move, so the whole move is checked against one version
+     * @param id id of the lexicon
+     * @return lexicon
+     * @throws java.util.concurrent.CompletionException if it could not be loaded
+     */
+    public Lexicon get(String id){
+        return this.load(id).join();
+    }
+
+    /**
+     * loads a lexicon again from its files, e.g. after a new version of the
+     * list was published, and puts it in place once it is ready
+     * the version being replaced keeps working for anything still using it
+     * @param id id of the lexicon
+     * @return future that completes with the new version once it is in place,
+     *         or exceptionally if it could not be loaded, in which case nothing changes
+     */
+    public CompletableFuture<Lexicon> reload(String id){
+        File[] source = this.getSource(id);
+        return CompletableFuture.supplyAsync(() -> this.swap(id, build(source)));
+    }
+
+    /**
+     * puts a new version of a lexicon in place
+     * @param id id of the lexicon, defined or not
+     * @param wordTree words of the new version
+     * @return the new version
+     */
+    public Lexicon swap(String id, WordTree wordTree){
+        Lexicon lexicon = new Lexicon(id, this.nextVersion.getAndIncrement(), wordTree);
+        this.lexicons.put(id, CompletableFuture.completedFuture(lexicon));
+        return lexicon;
+    }
+
+    /**
+     * accessor for the ids that can be loaded or are loaded
+     * @return ids, sorted
+     */
+    public List<String> getIds(){
+        ArrayList<String> ids = new ArrayList<>(this.sources.keySet());
+        for (String id : this.lexicons.keySet()){
+            if (!ids.contains(id)){
+                ids.add(id);
+            }
+        }
+        Collections.sort(ids);
+        return ids;
+    }
+
+    /**
+     * finds where a lexicon is loaded from
+     * @param id id of the lexicon
+     * @return word list and snapshot
+     */
+    private File[] getSource(String id){
+        File[] source = this.sources.get(id);
+        if (source == null){
+            throw new IllegalArgumentException("no lexicon with id " + id);
+        }
+        return source;
+    }
+
+    /**
+     * loads a lexicon's words
+     * WordTree falls back to no words at all if the list cannot be read,
+     * which must never replace a working version, so that is checked first
+     * @param source word list and snapshot
+     * @return words
+     */
+    private static WordTree build(File[] source){
+        if (!source[0].canRead()){
+            throw new IllegalStateException("cannot read word list " + source[0]);
+        }
+        return new WordTree(source[0], source[1]);
+    }
+}
@@ -0,0 +1,140 @@
+package indy;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Metrics times and counts the busiest parts of the game, turned on with -Dindy.metrics=true
+ * ENABLED is a static final read once at startup, so when metrics are off
+ * every check of it is folded away by the JIT and the timed code runs as if
+ * it were not timed. When they are on, times go into LatencyHistograms and
+ * counts into LongAdders, which are striped so threads do not fight over
+ * them; everything is registered with the platform MBean server for jconsole
+ * and printed every indy.metrics.dumpMillis milliseconds (0 for never)
+ */
+public final class Metrics implements MetricsMXBean {
+    public static final boolean ENABLED = Boolean.getBoolean("indy.metrics");
+
+    //Game.checkMove from pressing submit to the board being updated
+    public static final LatencyHistogram CHECK_MOVE = new LatencyHistogram("checkMove");
+    //finding and scoring the words a move makes, GameState.submit
+    public static final LatencyHistogram FIND_WORDS = new LatencyHistogram("findWords");
+    //loading or building the dictionary, WordTree
+    public static final LatencyHistogram DICTIONARY_LOAD = new LatencyHistogram("dictionaryLoad");
+    private static final LatencyHistogram[] HISTOGRAMS = {CHECK_MOVE, FIND_WORDS, DICTIONARY_LOAD};
+
+    //words looked up that were and were not in the dictionary
+    public static final LongAdder WORD_HITS = new LongAdder();
+    public static final LongAdder WORD_MISSES = new LongAdder();
+    public static final LongAdder TILE_DRAWS = new LongAdder();
+
+    static {
+        if (ENABLED){
+            register();
+            long dumpMillis = Long.getLong("indy.metrics.dumpMillis", Constants.METRICS_DUMP_MILLIS);
+            if (dumpMillis > 0){
+                startDump(dumpMillis);
+            }
+        }
+    }
+
+    /**
+     * constructor for the one metrics bean, everything else is static
+     */
+    private Metrics(){
+    }
+
+    /**
+     * start time of something to be timed, pass it to LatencyHistogram.recordSince
+     * @return System.nanoTime(), or 0 without reading the clock if metrics are off
+     */
+    public static long start(){
+        return ENABLED ? System.nanoTime() : 0;
+    }
+
+    /**
+     * registers the counters and every histogram as MBeans
+     */
+    private static void register(){
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            server.registerMBean(new Metrics(), new ObjectName("indy:type=Metrics"));
+            for (LatencyHistogram histogram : HISTOGRAMS){
+                server.registerMBean(histogram,
+                        new ObjectName("indy:type=Latency,name=" + histogram.getName()));
+            }
+        } catch (JMException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * prints the summary to standard error now and then on a daemon thread
+     * @param periodMillis time between dumps
+     */
+    private static void startDump(long periodMillis){
+        ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor((Runnable task) -> {
+            Thread thread = new Thread(task, "metrics-dump");
+            thread.setDaemon(true);
+            return thread;
+        });
+        timer.scheduleAtFixedRate(() -> System.err.print(getText()), periodMillis, periodMillis,
+                TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * every counter and histogram, one per line
+     * @return text dump
+     */
+    public static String getText(){
+        StringBuilder text = new StringBuilder();
+        text.append(String.format("words %d found, %d not found   tiles drawn %d%n",
+                WORD_HITS.sum(), WORD_MISSES.sum(), TILE_DRAWS.sum()));
+        for (LatencyHistogram histogram : HISTOGRAMS){
+            text.append(histogram).append(System.lineSeparator());
+        }
+        return text.toString();
+    }
+
+    /**
+     * accessor for words looked up that were in the dictionary
+     * @return count
+     */
+    @Override
+    public long getWordHits(){
+        return WORD_HITS.sum();
+    }
+
+    /**
+     * accessor for words looked up that were not in the dictionary
+     * @return count
+     */
+    @Override
+    public long getWordMisses(){
+        return WORD_MISSES.sum();
+    }
+
+    /**
+     * accessor for tiles drawn from every bag
+     * @return count
+     */
+    @Override
+    public long getTileDraws(){
+        return TILE_DRAWS.sum();
+    }
+
+    /**
+     * accessor for the text dump
+     * @return see getText
+     */
+    @Override
+    public String getSummary(){
+        return getText();
+    }
+}
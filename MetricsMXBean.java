@@ -0,0 +1,15 @@
+package indy;
+
+/**
+ * MetricsMXBean is what JMX clients such as jconsole see of the counters
+ * in Metrics, registered as indy:type=Metrics
+ */
+public interface MetricsMXBean {
+    long getWordHits();
+
+    long getWordMisses();
+
+    long getTileDraws();
+
+    String getSummary();
+}
@@ -0,0 +1,112 @@
+package indy;
+
+/**
+ * Move represents one placement of tiles found by MoveGenerator
+ * Holds the whole main word, including letters that were already on the
+ * board, with bit masks marking which of its letters are new tiles and
+ * which of those are blanks
+ */
+public class Move {
+    private int row;
+    private int col;
+    private boolean horizontal;
+    private String word;
+    private int placedMask;
+    private int blankMask;
+    private int score;
+
+    /**
+     * constructor for move
+     * @param row row of the first letter
+     * @param col column of the first letter
+     * @param horizontal true if the word reads left to right
+     * @param word main word
+     * @param placedMask bit i is set if letter i is a new tile
+     * @param blankMask bit i is set if letter i is a blank tile
+     * @param score score of the move
+     */
+    public Move(int row, int col, boolean horizontal, String word,
+                int placedMask, int blankMask, int score){
+        this.row = row;
+        this.col = col;
+        this.horizontal = horizontal;
+        this.word = word;
+        this.placedMask = placedMask;
+        this.blankMask = blankMask;
+        this.score = score;
+    }
+
+    /**
+     * accessor for the main word
+     * @return word
+     */
+    public String getWord(){
+        return this.word;
+    }
+
+    /**
+     * accessor for score
+     * @return score
+     */
+    public int getScore(){
+        return this.score;
+    }
+
+    /**
+     * accessor for direction
+     * @return true if the word reads left to right
+     */
+    public boolean isHorizontal(){
+        return this.horizontal;
+    }
+
+    /**
+     * row of a letter in the main word
+     * @param index position in the word
+     * @return row number
+     */
+    public int getRow(int index){
+        return this.horizontal ? this.row : this.row + index;
+    }
+
+    /**
+     * column of a letter in the main word
+     * @param index position in the word
+     * @return column number
+     */
+    public int getCol(int index){
+        return this.horizontal ? this.col + index : this.col;
+    }
+
+    /**
+     * checks if a letter of the word is a new tile
+     * @param index position in the word
+     * @return true if the tile comes from the rack
+     */
+    public boolean isPlaced(int index){
+        return (this.placedMask & (1 << index)) != 0;
+    }
+
+    /**
+     * checks if a letter of the word is played with a blank tile
+     * @param index position in the word
+     * @return true if blank
+     */
+    public boolean isBlank(int index){
+        return (this.blankMask & (1 << index)) != 0;
+    }
+
+    /**
+     * accessor for the number of tiles taken from the rack
+     * @return tile count
+     */
+    public int getTileCount(){
+        return Integer.bitCount(this.placedMask);
+    }
+
+    @Override
+    public String toString(){
+        return this.word + " at " + this.row + "," + this.col
+                + (this.horizontal ? " across" : " down") + " for " + this.score;
+    }
+}
@@ -0,0 +1,291 @@
+package indy;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * MoveGenerator finds every legal move for a rack on the current board
+ * Uses the Appel-Jacobson algorithm: words are only grown through anchor
+ * squares (empty squares next to a tile), and a letter is only tried if the
+ * dawg has a word continuing with it and it makes a valid word across
+ * (the square's cross-check), so dead ends are cut off right away
+ */
+public class MoveGenerator {
+    public static final char BLANK = ' ';
+    private static final int BLANK_INDEX = Dawg.ALPHABET_SIZE;
+
+    private Dawg dawg;
+
+    //board copied into [line][position] arrays for the direction being searched,
+    //so the same code handles rows (horizontal) and columns (vertical)
+    private int size;
+    private boolean horizontal;
+    private BoardState board;
+    private char[][] letters;
+    private int[][] tileScores;
+    private int[][] letterMultipliers;
+    private int[][] wordMultipliers;
+    private int[][] crossChecks;
+    //sum of the tiles across a square, -1 if no word forms across it
+    private int[][] crossScores;
+
+    //word currently being built
+    private int[] rack;
+    private char[] word;
+    private int line;
+    private int anchor;
+    private int start;
+    private ArrayList<Move> moves;
+    //set while searching for a hint, which only keeps the best move
+    private Hint hint;
+
+    /**
+     * constructor for moveGenerator
+     * @param dawg lexicon moves are checked against
+     */
+    public MoveGenerator(Dawg dawg){
+        this.dawg = dawg;
+    }
+
+    /**
+     * finds all legal moves for a rack against the scored tiles on the board
+     * tiles placed this turn but not yet submitted are ignored
+     * the board's cross-checks must have been updated with the same dawg
+     * @param board current board
+     * @param rackLetters letters on the rack, ' ' for a blank
+     * @return every legal move, best score first
+     */
+    public List<Move> generate(BoardState board, char[] rackLetters){
+        this.hint = null;
+        this.moves = new ArrayList<>();
+        this.run(board, rackLetters);
+        Collections.sort(this.moves, (Move a, Move b) -> b.getScore() - a.getScore());
+        return this.moves;
+    }
+
+    /**
+     * searches for the best move for a rack, see HintEngine
+     * each better move is handed to the hint as soon as it is found, and
+     * the search gives up as soon as the hint is stopped
+     * ties go to the move found first, like the first move from generate
+     * @param board current board, only read by this search
+     * @param rackLetters letters on the rack, ' ' for a blank
+     * @param myHint hint that keeps the best move found
+     */
+    public void search(BoardState board, char[] rackLetters, Hint myHint){
+        this.hint = myHint;
+        this.moves = null;
+        this.run(board, rackLetters);
+        this.hint = null;
+    }
+
+    /**
+     * grows words from every anchor in both directions
+     * @param board current board
+     * @param rackLetters letters on the rack, ' ' for a blank
+     */
+    private void run(BoardState board, char[] rackLetters){
+        this.size = board.getSize();
+        this.board = board;
+        this.rack = new int[Dawg.ALPHABET_SIZE + 1];
+        for (char letter : rackLetters) {
+            if (letter == BLANK) {
+                this.rack[BLANK_INDEX]++;
+            } else if (letter >= 'A' && letter <= 'Z') {
+                this.rack[letter - 'A']++;
+            }
+        }
+        this.word = new char[this.size];
+
+        this.load(board, true);
+        this.generateLines();
+        this.load(board, false);
+        this.generateLines();
+    }
+
+    /**
+     * copies the board and its cross-checks into the line arrays for one direction
+     * @param board current board
+     * @param horizontal true to search rows, false to search columns
+     */
+    private void load(BoardState board, boolean horizontal){
+        this.horizontal = horizontal;
+        this.letters = new char[this.size][this.size];
+        this.tileScores = new int[this.size][this.size];
+        this.letterMultipliers = new int[this.size][this.size];
+        this.wordMultipliers = new int[this.size][this.size];
+        this.crossChecks = new int[this.size][this.size];
+        this.crossScores = new int[this.size][this.size];
+
+        for (int i = 0; i < this.size; i++) {
+            for (int j = 0; j < this.size; j++) {
+                int row = horizontal ? i : j;
+                int col = horizontal ? j : i;
+                this.letters[i][j] = board.getFinalLetter(row, col);
+                this.tileScores[i][j] = board.getFinalScore(row, col);
+                this.letterMultipliers[i][j] = board.getLetterMultiplier(row, col);
+                this.wordMultipliers[i][j] = board.getWordMultiplier(row, col);
+                this.crossChecks[i][j] = board.getCrossCheck(row, col, horizontal);
+                this.crossScores[i][j] = board.getCrossScore(row, col, horizontal);
+            }
+        }
+    }
+
+    /**
+     * checks if a square is an anchor, an empty square next to a tile
+     * on an empty board every square is an anchor, see BoardState.isAnchor
+     * @param line line of the square
+     * @param pos position of the square
+     * @return true if words should be grown through it
+     */
+    private boolean isAnchor(int line, int pos){
+        return this.horizontal ? this.board.isAnchor(line, pos) : this.board.isAnchor(pos, line);
+    }
+
+    /**
+     * grows words through every anchor of every line
+     * each move is found exactly once, from the leftmost anchor it covers,
+     * because the letters left of an anchor may only go on empty non-anchor squares
+     */
+    private void generateLines(){
+        for (int i = 0; i < this.size; i++) {
+            this.line = i;
+            for (int pos = 0; pos < this.size; pos++) {
+                if (!this.isAnchor(i, pos)) {
+                    continue;
+                }
+                this.anchor = pos;
+                if (pos > 0 && this.letters[i][pos - 1] != 0) {
+                    //tiles left of the anchor have to be the start of the word
+                    this.start = pos - 1;
+                    while (this.start > 0 && this.letters[i][this.start - 1] != 0) {
+                        this.start--;
+                    }
+                    this.extend(this.start, Dawg.ROOT, 0, 0, 0, 1, 0);
+                } else {
+                    int limit = 0;
+                    while (pos - limit > 0 && this.letters[i][pos - limit - 1] == 0
+                            && !this.isAnchor(i, pos - limit - 1)) {
+                        limit++;
+                    }
+                    for (int left = 0; left <= limit; left++) {
+                        this.start = pos - left;
+                        this.extend(this.start, Dawg.ROOT, 0, 0, 0, 1, 0);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * adds the letter at pos to the word, either the tile already there
+     * or every rack tile that fits, and recurses to the next square
+     * @param pos square to fill
+     * @param node dawg node of the word so far
+     * @param placed bit mask of word positions filled from the rack
+     * @param blanks bit mask of word positions filled by blanks
+     * @param mainSum letter score of the word so far
+     * @param multiplier word multiplier of the word so far
+     * @param crossTotal scores of the words formed across new tiles
+     */
+    private void extend(int pos, int node, int placed, int blanks,
+                        int mainSum, int multiplier, int crossTotal){
+        if (this.hint != null && this.hint.isStopped()) {
+            return;
+        }
+        if (pos < this.size && this.letters[this.line][pos] != 0) {
+            char letter = this.letters[this.line][pos];
+            int next = this.dawg.child(node, letter - 'A');
+            if (next != Dawg.NONE) {
+                this.word[pos - this.start] = letter;
+                this.extend(pos + 1, next, placed, blanks, mainSum + this.tileScores[this.line][pos],
+                        multiplier, crossTotal);
+            }
+            return;
+        }
+
+        //the word ends here if it covers the anchor and is a whole word
+        if (pos > this.anchor && pos - this.start > 1 && this.dawg.isTerminal(node)) {
+            this.record(pos - this.start, placed, blanks, mainSum * multiplier + crossTotal);
+        }
+        if (pos == this.size) {
+            return;
+        }
+
+        int possible = this.dawg.getLetterMask(node) & this.crossChecks[this.line][pos];
+        while (possible != 0) {
+            int letter = Integer.numberOfTrailingZeros(possible);
+            possible &= possible - 1;
+            if (this.rack[letter] > 0) {
+                this.rack[letter]--;
+                this.play(pos, node, letter, false, placed, blanks, mainSum, multiplier, crossTotal);
+                this.rack[letter]++;
+            }
+            if (this.rack[BLANK_INDEX] > 0) {
+                this.rack[BLANK_INDEX]--;
+                this.play(pos, node, letter, true, placed, blanks, mainSum, multiplier, crossTotal);
+                this.rack[BLANK_INDEX]++;
+            }
+        }
+    }
+
+    /**
+     * puts a rack tile on an empty square, scores it and keeps extending
+     * premium squares count for both the main word and the word across
+     * @param pos square to fill
+     * @param node dawg node of the word before this letter
+     * @param letter letter index
+     * @param blank true if a blank tile is used for the letter
+     * @param placed bit mask of word positions filled from the rack
+     * @param blanks bit mask of word positions filled by blanks
+     * @param mainSum letter score of the word so far
+     * @param multiplier word multiplier of the word so far
+     * @param crossTotal scores of the words formed across new tiles
+     */
+    private void play(int pos, int node, int letter, boolean blank, int placed, int blanks,
+                      int mainSum, int multiplier, int crossTotal){
+        char character = (char) ('A' + letter);
+        int value = blank ? 0 : LetterValues.getScore(character);
+        int letterMultiplier = this.letterMultipliers[this.line][pos];
+        int wordMultiplier = this.wordMultipliers[this.line][pos];
+        int crossScore = this.crossScores[this.line][pos];
+        if (crossScore >= 0) {
+            crossTotal += (crossScore + value * letterMultiplier) * wordMultiplier;
+        }
+        int bit = 1 << (pos - this.start);
+        this.word[pos - this.start] = character;
+        this.extend(pos + 1, this.dawg.child(node, letter), placed | bit,
+                blank ? blanks | bit : blanks, mainSum + value * letterMultiplier,
+                multiplier * wordMultiplier, crossTotal);
+    }
+
+    /**
+     * saves a finished move
+     * a single tile that makes words both ways is found by both passes,
+     * so the column pass skips it
+     * @param length length of the main word
+     * @param placed bit mask of word positions filled from the rack
+     * @param blanks bit mask of word positions filled by blanks
+     * @param score score of the move
+     */
+    private void record(int length, int placed, int blanks, int score){
+        if (!this.horizontal && Integer.bitCount(placed) == 1) {
+            int pos = this.start + Integer.numberOfTrailingZeros(placed);
+            if (this.crossScores[this.line][pos] >= 0) {
+                return;
+            }
+        }
+        if (this.hint != null && score <= this.hint.getBestScore()) {
+            return;
+        }
+        String text = new String(this.word, 0, length);
+        Move move = this.horizontal ? new Move(this.line, this.start, true, text, placed, blanks, score)
+                : new Move(this.start, this.line, false, text, placed, blanks, score);
+        if (this.hint != null) {
+            this.hint.offer(move);
+        } else {
+            this.moves.add(move);
+        }
+    }
+}
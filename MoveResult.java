@@ -0,0 +1,75 @@
+package indy;
+
+import java.util.List;
+
+/**
+ * MoveResult is what GameState.submit says about a move
+ */
+public class MoveResult {
+
+    /**
+     * whether a move was accepted, and if not, why
+     */
+    public enum Status {
+        VALID, NO_WORDS, INVALID_WORD, NOT_ON_RACK, NOT_CONNECTED, INVALID_SQUARE, NOT_YOUR_TURN
+    }
+
+    private Status status;
+    private int score;
+    private List<String> words;
+    private String invalidWord;
+
+    /**
+     * constructor for moveResult
+     * @param status whether the move was accepted
+     * @param score score of the move, 0 if it was not accepted
+     * @param words words the move made
+     * @param invalidWord first word not in the dictionary, null if there is none
+     */
+    public MoveResult(Status status, int score, List<String> words, String invalidWord){
+        this.status = status;
+        this.score = score;
+        this.words = words;
+        this.invalidWord = invalidWord;
+    }
+
+    /**
+     * checks if the move was accepted
+     * @return true if valid
+     */
+    public boolean isValid(){
+        return this.status == Status.VALID;
+    }
+
+    /**
+     * accessor for status
+     * @return status
+     */
+    public Status getStatus(){
+        return this.status;
+    }
+
+    /**
+     * accessor for score
+     * @return score
+     */
+    public int getScore(){
+        return this.score;
+    }
+
+    /**
+     * accessor for the words the move made
+     * @return words
+     */
+    public List<String> getWords(){
+        return this.words;
+    }
+
+    /**
+     * accessor for the first invalid word
+     * @return invalid word, or null
+     */
+    public String getInvalidWord(){
+        return this.invalidWord;
+    }
+}
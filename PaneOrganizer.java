@@ -19,17 +19,24 @@ public class PaneOrganizer {
     private Pane gamePane;
     private StackPane buttonPane;
     private Label label;
+    private Button quitButton;
     private Button moveButton;
+    private Button hintButton;
+    //width of the board, which the window is sized to
+    private int width;
 
     /**
      * constructor initializes root pane, creates necessary panes, and
-     * instantiates a new Game.
+     * instantiates a new Game. Buttons are placed once the game knows how
+     * big its board is.
      */
     public PaneOrganizer() {
         this.root = new BorderPane();
         this.gamePane = this.createGamePane();
         this.createButtonPane();
-        new Game(this.gamePane, this.label, this.moveButton);
+        Game game = new Game(this.gamePane, this.label, this.moveButton, this.hintButton);
+        this.width = game.getWidth();
+        this.placeButtons();
 
     }
 
@@ -40,6 +47,14 @@ public class PaneOrganizer {
         return (this.root);
     }
 
+    /**
+     * accessor for the width of the board
+     * @return width in pixels
+     */
+    public int getWidth() {
+        return this.width;
+    }
+
     /**
      * creates the GamePane (parent pane)
      * @return returns the pane so other classes can know about it
@@ -56,18 +71,16 @@ public class PaneOrganizer {
     private void createButtonPane(){
         //Sets up button visually
         this.buttonPane = new StackPane();
-        this.buttonPane.setPrefSize(Constants.SCENE_WIDTH, Constants.SQUARE_DIM);
         this.buttonPane.setAlignment(Pos.CENTER_LEFT);
         this.root.setBottom(this.buttonPane);
 
         //Creates quit button
-        Button quitButton = new Button("Quit");
-        quitButton.setTranslateX(Constants.SCENE_WIDTH - Constants.SQUARE_DIM);
+        this.quitButton = new Button("Quit");
 
         //Quits the program once clicked
-        quitButton.setOnAction((ActionEvent e) -> System.exit(0));
+        this.quitButton.setOnAction((ActionEvent e) -> System.exit(0));
         this.buttonPane.setFocusTraversable(false);
-        quitButton.setFocusTraversable(false);
+        this.quitButton.setFocusTraversable(false);
 
         //adds a label that will contain the score and line count
         this.label = new Label();
@@ -75,8 +88,21 @@ public class PaneOrganizer {
 
         //adds button to submit moves
         this.moveButton = new Button("Submit Move");
-        this.moveButton.setTranslateX(Constants.SCENE_WIDTH - Constants.MOVE_BUTTON_OFFSET);
 
-        this.buttonPane.getChildren().addAll(quitButton, this.label, this.moveButton);
+        //adds button to show the best move for the current rack
+        this.hintButton = new Button("Hint");
+        this.hintButton.setFocusTraversable(false);
+
+        this.buttonPane.getChildren().addAll(this.quitButton, this.label, this.hintButton, this.moveButton);
+    }
+
+    /**
+     * lines the buttons up along the bottom of the board
+     */
+    private void placeButtons(){
+        this.buttonPane.setPrefSize(this.width, Constants.SQUARE_DIM);
+        this.quitButton.setTranslateX(this.width - Constants.SQUARE_DIM);
+        this.moveButton.setTranslateX(this.width - Constants.MOVE_BUTTON_OFFSET);
+        this.hintButton.setTranslateX(this.width - Constants.HINT_BUTTON_OFFSET);
     }
 }
\ No newline at end of file
@@ -0,0 +1,236 @@
+package indy;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * PatternSearch walks a dawg for the words that match a pattern
+ * '?' (or ' ', a blank) matches any one letter, '*' matches any number of
+ * letters, including none, and every other character has to be that letter
+ * The pattern is run like a small automaton: each node on the path carries
+ * the set of pattern positions it could be at, as bits of a long, so every
+ * path is walked once however many ways '*' could match it, and a path is
+ * dropped as soon as no position is left or the letters it still needs no
+ * longer fit. Words are found one at a time as the iterator is asked for
+ * them, in alphabetical order, so callers can stop early
+ */
+class PatternSearch implements Iterator<String> {
+    private static final int MAX_PATTERN = Long.SIZE - 1;
+    private static final int ALL_LETTERS = (1 << Dawg.ALPHABET_SIZE) - 1;
+    private static final int UNBOUNDED = Integer.MAX_VALUE;
+
+    private Dawg dawg;
+    private char[] pattern;
+    //bit of the position past the end of the pattern, set once a whole pattern is matched
+    private long accept;
+    //most letters a word can still take from each position, UNBOUNDED if a '*' follows
+    private int[] maxRemaining;
+    //letters every word has to contain that the path has not used yet
+    private int[] required;
+    private int requiredLeft;
+
+    //frame d is the node after the first d letters of the path
+    private int depth;
+    private char[] prefix;
+    private int[] nodes;
+    private long[] positions;
+    private int[] lettersLeft;
+    //true if the letter into frame d was one of the required letters
+    private boolean[] usedRequired;
+    private String next;
+
+    /**
+     * constructor for patternSearch, starts at the root
+     * @param dawg dawg to search
+     * @param pattern letters, '?' or ' ' for any letter and '*' for any letters
+     * @param requiredLetters letters every word has to contain, e.g. "Q", "" for none
+     */
+    PatternSearch(Dawg dawg, String pattern, String requiredLetters){
+        if (pattern.length() > MAX_PATTERN) {
+            throw new IllegalArgumentException("pattern longer than " + MAX_PATTERN + ": " + pattern);
+        }
+        this.dawg = dawg;
+        this.pattern = pattern.toCharArray();
+        for (int i = 0; i < this.pattern.length; i++) {
+            char c = this.pattern[i];
+            if (c == ' ') {
+                this.pattern[i] = '?';
+            } else if (c != '?' && c != '*' && (c < 'A' || c > 'Z')) {
+                throw new IllegalArgumentException("not a pattern character: '" + c + "'");
+            }
+        }
+        this.accept = 1L << this.pattern.length;
+        this.maxRemaining = new int[this.pattern.length + 1];
+        for (int i = this.pattern.length - 1; i >= 0; i--) {
+            this.maxRemaining[i] = this.pattern[i] == '*' || this.maxRemaining[i + 1] == UNBOUNDED
+                    ? UNBOUNDED : this.maxRemaining[i + 1] + 1;
+        }
+        this.required = new int[Dawg.ALPHABET_SIZE];
+        for (int i = 0; i < requiredLetters.length(); i++) {
+            int letter = requiredLetters.charAt(i) - 'A';
+            if (letter < 0 || letter >= Dawg.ALPHABET_SIZE) {
+                throw new IllegalArgumentException("not a letter: '" + requiredLetters.charAt(i) + "'");
+            }
+            this.required[letter]++;
+            this.requiredLeft++;
+        }
+
+        this.prefix = new char[16];
+        this.nodes = new int[17];
+        this.positions = new long[17];
+        this.lettersLeft = new int[17];
+        this.usedRequired = new boolean[17];
+        this.nodes[0] = Dawg.ROOT;
+        this.positions[0] = this.close(1L);
+        this.lettersLeft[0] = this.dawg.getLetterMask(Dawg.ROOT) & this.getAllowed(this.positions[0]);
+        this.next = this.advance();
+    }
+
+    /**
+     * checks if there is another matching word
+     * @return true if next will return a word
+     */
+    @Override
+    public boolean hasNext(){
+        return this.next != null;
+    }
+
+    /**
+     * finds the next matching word
+     * @return word
+     */
+    @Override
+    public String next(){
+        if (this.next == null) {
+            throw new NoSuchElementException();
+        }
+        String word = this.next;
+        this.next = this.advance();
+        return word;
+    }
+
+    /**
+     * carries on the depth first walk until the next matching word
+     * @return word, or null once the walk is done
+     */
+    private String advance(){
+        while (this.depth >= 0) {
+            int letters = this.lettersLeft[this.depth];
+            if (letters == 0) {
+                //every letter out of this node has been tried, go back up
+                if (this.usedRequired[this.depth]) {
+                    this.required[this.prefix[this.depth - 1] - 'A']++;
+                    this.requiredLeft++;
+                }
+                this.depth--;
+                continue;
+            }
+            int letter = Integer.numberOfTrailingZeros(letters);
+            this.lettersLeft[this.depth] = letters & (letters - 1);
+
+            long nextPositions = this.step(this.positions[this.depth], letter);
+            boolean used = this.required[letter] > 0;
+            int left = used ? this.requiredLeft - 1 : this.requiredLeft;
+            if (nextPositions == 0 || left > this.getMaxRemaining(nextPositions)) {
+                continue;
+            }
+
+            int child = this.dawg.child(this.nodes[this.depth], letter);
+            if (this.depth + 1 == this.nodes.length) {
+                this.grow();
+            }
+            this.prefix[this.depth] = (char) ('A' + letter);
+            this.depth++;
+            this.nodes[this.depth] = child;
+            this.positions[this.depth] = nextPositions;
+            this.lettersLeft[this.depth] = this.dawg.getLetterMask(child) & this.getAllowed(nextPositions);
+            this.usedRequired[this.depth] = used;
+            if (used) {
+                this.required[letter]--;
+                this.requiredLeft--;
+            }
+            if (this.requiredLeft == 0 && (nextPositions & this.accept) != 0 && this.dawg.isTerminal(child)) {
+                return new String(this.prefix, 0, this.depth);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * pattern positions after reading a letter
+     * @param current positions before the letter
+     * @param letter letter index, 0 for A through 25 for Z
+     * @return positions after the letter, 0 if the path cannot match
+     */
+    private long step(long current, int letter){
+        long result = 0;
+        for (long bits = current & ~this.accept; bits != 0; bits &= bits - 1) {
+            int i = Long.numberOfTrailingZeros(bits);
+            char c = this.pattern[i];
+            if (c == '*') {
+                result |= 1L << i;
+            } else if (c == '?' || c - 'A' == letter) {
+                result |= 1L << (i + 1);
+            }
+        }
+        return this.close(result);
+    }
+
+    /**
+     * adds the positions reached by letting a '*' match nothing
+     * @param current positions
+     * @return positions with every '*' skipped as well
+     */
+    private long close(long current){
+        long result = current;
+        for (int i = 0; i < this.pattern.length; i++) {
+            if ((result & (1L << i)) != 0 && this.pattern[i] == '*') {
+                result |= 1L << (i + 1);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * letters that can come next from any of the positions
+     * @param current positions
+     * @return bit mask, bit 0 for A through bit 25 for Z
+     */
+    private int getAllowed(long current){
+        int allowed = 0;
+        for (long bits = current & ~this.accept; bits != 0; bits &= bits - 1) {
+            char c = this.pattern[Long.numberOfTrailingZeros(bits)];
+            if (c == '*' || c == '?') {
+                return ALL_LETTERS;
+            }
+            allowed |= 1 << (c - 'A');
+        }
+        return allowed;
+    }
+
+    /**
+     * most letters a word can still take from any of the positions
+     * @param current positions
+     * @return letters left, UNBOUNDED if a '*' is still ahead
+     */
+    private int getMaxRemaining(long current){
+        int max = 0;
+        for (long bits = current; bits != 0; bits &= bits - 1) {
+            max = Math.max(max, this.maxRemaining[Long.numberOfTrailingZeros(bits)]);
+        }
+        return max;
+    }
+
+    /**
+     * makes room for longer words
+     */
+    private void grow(){
+        int length = 2 * this.nodes.length;
+        this.prefix = Arrays.copyOf(this.prefix, length - 1);
+        this.nodes = Arrays.copyOf(this.nodes, length);
+        this.positions = Arrays.copyOf(this.positions, length);
+        this.lettersLeft = Arrays.copyOf(this.lettersLeft, length);
+        this.usedRequired = Arrays.copyOf(this.usedRequired, length);
+    }
+}
@@ -0,0 +1,227 @@
+package indy;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * ReplayEngine plays recorded games again through the real rules, without graphics
+ * Every turn of a GameRecord goes through GameState.play like a submitted
+ * move, so its words are found, checked against the dictionary and scored,
+ * and the score has to match the one recorded. A game is dealt again from its
+ * seed, so racks are checked too, and at the end the board's cross-checks
+ * have to match those of the same board loaded from a save. Files are split up with fork/join like
+ * SelfPlay games, so a whole archive is replayed on every core. Used as a
+ * regression check after changing scoring or the word list, and with rescore
+ * set it rewrites the records with the scores the current rules give instead
+ */
+public class ReplayEngine {
+    private WordTree wordTree;
+    private boolean rescore;
+
+    /**
+     * constructor for replayEngine
+     * @param myWordTree dictionary
+     * @param myRescore true to rewrite records whose scores changed instead of reporting them
+     */
+    public ReplayEngine(WordTree myWordTree, boolean myRescore){
+        this.wordTree = myWordTree;
+        this.rescore = myRescore;
+    }
+
+    /**
+     * replays record files on the common fork/join pool
+     * @param files record files
+     * @return results
+     */
+    public ReplayStats run(List<File> files){
+        return this.run(files, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * replays record files on a given fork/join pool
+     * @param files record files
+     * @param pool pool to replay on, its parallelism is how many cores are used
+     * @return results
+     */
+    public ReplayStats run(List<File> files, ForkJoinPool pool){
+        long start = System.nanoTime();
+        ReplayStats stats = pool.invoke(new FilesTask(files, 0, files.size()));
+        stats.setWallNanos(System.nanoTime() - start);
+        return stats;
+    }
+
+    /**
+     * replays one record file, and rewrites it if rescoring changed it
+     * @param file record file
+     * @param stats results the game is added to
+     */
+    private void replayFile(File file, ReplayStats stats){
+        GameRecord record;
+        try {
+            record = GameRecord.read(file);
+        } catch (IOException | IllegalArgumentException e) {
+            stats.addFailure(file.getName(), 0, "cannot be read: " + e.getMessage());
+            return;
+        }
+        GameRecord rescored = this.replay(record, file.getName(), stats);
+        if (rescored != null){
+            try {
+                rescored.write(file);
+                stats.addRescored();
+            } catch (IOException e) {
+                stats.addFailure(file.getName(), 0, "cannot be written: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * replays one game, stopping at the first turn the rules reject since the
+     * game cannot go on the same way after it
+     * @param record recorded game
+     * @param name name of the game in failures
+     * @param stats results the game is added to
+     * @return the record with the scores the rules gave, if rescoring, any of them changed
+     *         and every turn was replayed, otherwise null so a record is never cut short
+     */
+    public GameRecord replay(GameRecord record, String name, ReplayStats stats){
+        BoardLayout layout;
+        try {
+            layout = BoardLayout.get(record.getLayout());
+        } catch (IOException e) {
+            stats.addFailure(name, 0, "no layout " + record.getLayout() + ": " + e.getMessage());
+            return null;
+        }
+        GameState game = new GameState(new TileBag(record.getSeed()), layout);
+        GameRecord rescored = new GameRecord(record.getSeed(), record.getLayout());
+        boolean changed = false;
+        boolean failed = false;
+        List<String> turns = record.getTurns();
+        int played = 0;
+        for (String turn : turns){
+            played++;
+            if (GameRecord.isExchange(turn)){
+                char[] letters = GameRecord.parseExchange(turn);
+                if (!game.exchange(letters)){
+                    stats.addFailure(name, played, "exchange was rejected: " + turn);
+                    failed = true;
+                    break;
+                }
+                rescored.addExchange(letters);
+                continue;
+            }
+            Move move;
+            try {
+                move = GameRecord.parseMove(turn);
+            } catch (IllegalArgumentException e) {
+                stats.addFailure(name, played, e.getMessage());
+                failed = true;
+                break;
+            }
+            MoveResult result = game.play(move, this.wordTree);
+            if (!result.isValid()){
+                stats.addFailure(name, played, result.getStatus()
+                        + (result.getInvalidWord() == null ? "" : " " + result.getInvalidWord()) + ": " + turn);
+                failed = true;
+                break;
+            }
+            if (result.getScore() != move.getScore()){
+                changed = true;
+                if (!this.rescore){
+                    stats.addFailure(name, played, "scored " + result.getScore() + ": " + turn);
+                }
+            }
+            rescored.addMove(move, result.getScore());
+        }
+        //the board played on has to match one loaded from a save, or hints and the computer go wrong
+        BoardState recovered = GameJournal.copyThroughSnapshot(game, this.wordTree.getDawg()).getBoard();
+        if (!recovered.hasSameCrossChecks(game.getBoard())){
+            stats.addFailure(name, played, "cross-checks differ from the board loaded from a save");
+            failed = true;
+        }
+        stats.addGame(played);
+        return this.rescore && changed && !failed ? rescored : null;
+    }
+
+    /**
+     * replays the files from start up to end, splitting the range in
+     * half until it is one file
+     */
+    private class FilesTask extends RecursiveTask<ReplayStats> {
+        private static final long serialVersionUID = 1L;
+        private transient List<File> files;
+        private int start;
+        private int end;
+
+        /**
+         * constructor for filesTask
+         * @param myFiles every file of the run
+         * @param myStart first file
+         * @param myEnd file after the last one
+         */
+        FilesTask(List<File> myFiles, int myStart, int myEnd){
+            this.files = myFiles;
+            this.start = myStart;
+            this.end = myEnd;
+        }
+
+        @Override
+        protected ReplayStats compute(){
+            if (this.end - this.start <= 1){
+                ReplayStats stats = new ReplayStats();
+                for (int i = this.start; i < this.end; i++){
+                    ReplayEngine.this.replayFile(this.files.get(i), stats);
+                }
+                return stats;
+            }
+            int middle = (this.start + this.end) >>> 1;
+            FilesTask second = new FilesTask(this.files, middle, this.end);
+            second.fork();
+            ReplayStats stats = new FilesTask(this.files, this.start, middle).compute();
+            stats.merge(second.join());
+            return stats;
+        }
+    }
+
+    /**
+     * adds a record file, or every record file in a directory and the directories in it
+     * @param file file or directory
+     * @param files list the record files are added to
+     */
+    private static void addFiles(File file, List<File> files){
+        File[] children = file.listFiles();
+        if (children == null){
+            files.add(file);
+            return;
+        }
+        for (File child : children){
+            if (child.isDirectory() || child.getName().endsWith(GameRecord.EXTENSION)){
+                addFiles(child, files);
+            }
+        }
+    }
+
+    /**
+     * replays record files and prints the results, exits with 1 if any turn failed
+     * @param args optionally --rescore, then record files or directories of them
+     */
+    public static void main(String[] args){
+        boolean rescore = args.length > 0 && args[0].equals("--rescore");
+        List<File> files = new ArrayList<>();
+        for (int i = rescore ? 1 : 0; i < args.length; i++){
+            addFiles(new File(args[i]), files);
+        }
+        if (files.isEmpty()){
+            System.err.println("usage: ReplayEngine [--rescore] <record file or directory>...");
+            System.exit(1);
+        }
+        ReplayEngine engine = new ReplayEngine(new WordTree(), rescore);
+        System.out.println("replaying on " + ForkJoinPool.commonPool().getParallelism() + " threads");
+        ReplayStats stats = engine.run(files);
+        System.out.print(stats);
+        System.exit(stats.isClean() ? 0 : 1);
+    }
+}
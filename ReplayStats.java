@@ -0,0 +1,112 @@
+package indy;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * ReplayStats adds up the results of games replayed by ReplayEngine
+ * Each fork/join task fills its own and they are merged at the end, like SelfPlayStats
+ */
+public class ReplayStats {
+    //only this many failures are printed, the rest are only counted
+    private static final int FAILURES_SHOWN = 20;
+
+    private int games;
+    private long moves;
+    private int rescored;
+    private List<String> failures = new ArrayList<>();
+    private long wallNanos;
+
+    /**
+     * records a replayed game
+     * @param gameMoves number of turns replayed
+     */
+    public void addGame(int gameMoves){
+        this.games++;
+        this.moves += gameMoves;
+    }
+
+    /**
+     * records a turn that was rejected or scored differently than recorded
+     * @param name game the turn is from
+     * @param turn number of the turn, starting at 1
+     * @param message what went wrong
+     */
+    public void addFailure(String name, int turn, String message){
+        this.failures.add(name + " turn " + turn + ": " + message);
+    }
+
+    /**
+     * records a game whose record was rewritten with new scores
+     */
+    public void addRescored(){
+        this.rescored++;
+    }
+
+    /**
+     * adds another task's results to these
+     * @param other results to add
+     */
+    public void merge(ReplayStats other){
+        this.games += other.games;
+        this.moves += other.moves;
+        this.rescored += other.rescored;
+        this.failures.addAll(other.failures);
+    }
+
+    /**
+     * sets how long the whole run took
+     * @param nanos wall clock time
+     */
+    public void setWallNanos(long nanos){
+        this.wallNanos = nanos;
+    }
+
+    /**
+     * accessor for games replayed
+     * @return games
+     */
+    public int getGames(){
+        return this.games;
+    }
+
+    /**
+     * accessor for turns replayed
+     * @return moves
+     */
+    public long getMoves(){
+        return this.moves;
+    }
+
+    /**
+     * accessor for the failures
+     * @return one line per failure
+     */
+    public List<String> getFailures(){
+        return this.failures;
+    }
+
+    /**
+     * checks if every turn was accepted with its recorded score
+     * @return true if nothing failed
+     */
+    public boolean isClean(){
+        return this.failures.isEmpty();
+    }
+
+    @Override
+    public String toString(){
+        StringBuilder report = new StringBuilder();
+        double seconds = this.wallNanos / 1e9;
+        report.append(String.format("%d games, %d moves in %.2f s, %.0f moves/s%n", this.games, this.moves,
+                seconds, this.moves / Math.max(seconds, 1e-9)));
+        if (this.rescored > 0){
+            report.append(this.rescored).append(" records rewritten with new scores").append(System.lineSeparator());
+        }
+        for (int i = 0; i < Math.min(this.failures.size(), FAILURES_SHOWN); i++){
+            report.append(this.failures.get(i)).append(System.lineSeparator());
+        }
+        report.append(this.failures.size()).append(" failures").append(System.lineSeparator());
+        return report.toString();
+    }
+}
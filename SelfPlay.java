@@ -0,0 +1,187 @@
+package indy;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * SelfPlay plays many complete games between two strategies, without graphics
+ * Games follow the same rules as Game, through GameState: racks are refilled
+ * from the bag after every move and every move is scored and checked. The
+ * games are split up with fork/join so they run on every core, and each game
+ * is dealt from its own seeded bag, so a run gives the same results no matter
+ * how many threads play it
+ */
+public class SelfPlay {
+    //a fork/join task plays this many games itself instead of splitting again
+    private static final int GAMES_PER_TASK = 4;
+
+    private WordTree wordTree;
+    private Strategy strategy1;
+    private Strategy strategy2;
+    //directory every game is written to as a GameRecord, null to not record
+    private File recordDirectory;
+    //layout every game is played on, shared by all of them
+    private BoardLayout layout = BoardLayout.SMALL;
+
+    /**
+     * constructor for selfPlay
+     * @param myWordTree dictionary
+     * @param myStrategy1 strategy of player 1
+     * @param myStrategy2 strategy of player 2
+     */
+    public SelfPlay(WordTree myWordTree, Strategy myStrategy1, Strategy myStrategy2){
+        this.wordTree = myWordTree;
+        this.strategy1 = myStrategy1;
+        this.strategy2 = myStrategy2;
+    }
+
+    /**
+     * writes every game played from now on to a directory, one GameRecord
+     * file per game named after its seed, e.g. for ReplayEngine
+     * @param directory directory to write to, null to stop recording
+     */
+    public void setRecordDirectory(File directory){
+        this.recordDirectory = directory;
+    }
+
+    /**
+     * sets the board every game played from now on is played on
+     * @param myLayout layout, e.g. BoardLayout.STANDARD
+     */
+    public void setLayout(BoardLayout myLayout){
+        this.layout = myLayout;
+    }
+
+    /**
+     * plays games on the common fork/join pool
+     * @param games number of games
+     * @param seed seed of the first game, game i uses seed + i
+     * @return results
+     */
+    public SelfPlayStats run(int games, long seed){
+        return this.run(games, seed, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * plays games on a given fork/join pool
+     * @param games number of games
+     * @param seed seed of the first game, game i uses seed + i
+     * @param pool pool to play on, its parallelism is how many cores are used
+     * @return results
+     */
+    public SelfPlayStats run(int games, long seed, ForkJoinPool pool){
+        long start = System.nanoTime();
+        SelfPlayStats stats = pool.invoke(new GamesTask(seed, seed + games));
+        stats.setWallNanos(System.nanoTime() - start);
+        return stats;
+    }
+
+    /**
+     * plays one game until the player to move has no legal move, like
+     * pressing "no valid moves?" in Game
+     * @param seed seed of the bag and of the strategies
+     * @param generator move generator of the current thread
+     * @param stats results the game and its timings are added to
+     */
+    private void playGame(long seed, MoveGenerator generator, SelfPlayStats stats){
+        GameState game = new GameState(new TileBag(seed), this.layout);
+        Random random = new Random(~seed);
+        GameRecord record = this.recordDirectory == null ? null : new GameRecord(seed, this.layout.getName());
+        int moves = 0;
+        while (true){
+            long start = System.nanoTime();
+            List<Move> legal = generator.generate(game.getBoard(), game.getRackLetters());
+            long generated = System.nanoTime();
+            stats.addTime(SelfPlayStats.PHASE_GENERATE, generated - start);
+            if (legal.isEmpty()){
+                break;
+            }
+            Strategy strategy = game.getTurn() == 1 ? this.strategy1 : this.strategy2;
+            Move move = strategy.choose(game, legal, random);
+            long chosen = System.nanoTime();
+            stats.addTime(SelfPlayStats.PHASE_CHOOSE, chosen - generated);
+            MoveResult result = game.play(move, this.wordTree);
+            stats.addTime(SelfPlayStats.PHASE_SUBMIT, System.nanoTime() - chosen);
+            if (!result.isValid()){
+                throw new IllegalStateException("legal move was rejected: " + move + " " + result.getStatus());
+            }
+            if (record != null){
+                record.addMove(move);
+            }
+            moves++;
+        }
+        stats.addGame(game, moves);
+        if (record != null){
+            try {
+                record.write(new File(this.recordDirectory, "game-" + seed + GameRecord.EXTENSION));
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        }
+    }
+
+    /**
+     * plays the games with seeds from start up to end, splitting the range in
+     * half until it is small enough to play on one thread
+     */
+    private class GamesTask extends RecursiveTask<SelfPlayStats> {
+        private static final long serialVersionUID = 1L;
+        private long start;
+        private long end;
+
+        /**
+         * constructor for gamesTask
+         * @param myStart first seed
+         * @param myEnd seed after the last one
+         */
+        GamesTask(long myStart, long myEnd){
+            this.start = myStart;
+            this.end = myEnd;
+        }
+
+        @Override
+        protected SelfPlayStats compute(){
+            if (this.end - this.start <= GAMES_PER_TASK){
+                SelfPlayStats stats = new SelfPlayStats();
+                MoveGenerator generator = new MoveGenerator(SelfPlay.this.wordTree.getDawg());
+                for (long seed = this.start; seed < this.end; seed++){
+                    SelfPlay.this.playGame(seed, generator, stats);
+                }
+                return stats;
+            }
+            long middle = (this.start + this.end) >>> 1;
+            GamesTask second = new GamesTask(middle, this.end);
+            second.fork();
+            SelfPlayStats stats = new GamesTask(this.start, middle).compute();
+            stats.merge(second.join());
+            return stats;
+        }
+    }
+
+    /**
+     * plays games and prints the results
+     * @param args number of games, then the strategies of players 1 and 2
+     *             (highest, random or tiles), then the seed, then optionally
+     *             a directory to record the games to; the indy.board property
+     *             picks the layout, like in Game
+     */
+    public static void main(String[] args) throws IOException {
+        int games = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+        Strategy strategy1 = Strategy.forName(args.length > 1 ? args[1] : "highest");
+        Strategy strategy2 = Strategy.forName(args.length > 2 ? args[2] : "highest");
+        long seed = args.length > 3 ? Long.parseLong(args[3]) : 0;
+        SelfPlay selfPlay = new SelfPlay(new WordTree(), strategy1, strategy2);
+        selfPlay.setLayout(BoardLayout.get(System.getProperty("indy.board", Constants.BOARD_LAYOUT)));
+        if (args.length > 4){
+            File directory = new File(args[4]);
+            directory.mkdirs();
+            selfPlay.setRecordDirectory(directory);
+        }
+        System.out.println("playing on " + ForkJoinPool.commonPool().getParallelism() + " threads");
+        System.out.print(selfPlay.run(games, seed));
+    }
+}
@@ -0,0 +1,178 @@
+package indy;
+
+/**
+ * SelfPlayStats adds up the results of games played by SelfPlay
+ * Each fork/join task fills its own and they are merged at the end,
+ * so nothing is shared between threads while games are played
+ */
+public class SelfPlayStats {
+    public static final int PHASE_GENERATE = 0;
+    public static final int PHASE_CHOOSE = 1;
+    public static final int PHASE_SUBMIT = 2;
+    private static final String[] PHASE_NAMES = {"generate", "choose", "submit"};
+    //score histogram buckets are this many points wide, the last one holds everything above
+    private static final int BUCKET_WIDTH = 25;
+    private static final int BUCKETS = 30;
+
+    private int games;
+    private int wins1;
+    private int wins2;
+    private long moves;
+    private long[] phaseNanos = new long[PHASE_NAMES.length];
+    private int[][] histograms = new int[2][BUCKETS];
+    private long[] scoreSums = new long[2];
+    private double[] scoreSquareSums = new double[2];
+    private int[] minScores = {Integer.MAX_VALUE, Integer.MAX_VALUE};
+    private int[] maxScores = {Integer.MIN_VALUE, Integer.MIN_VALUE};
+    private long wallNanos;
+
+    /**
+     * records a finished game
+     * @param game game that is over
+     * @param gameMoves number of moves played
+     */
+    public void addGame(GameState game, int gameMoves){
+        this.games++;
+        this.moves += gameMoves;
+        for (int player = 1; player <= 2; player++){
+            int score = game.getScore(player);
+            this.scoreSums[player - 1] += score;
+            this.scoreSquareSums[player - 1] += (double) score * score;
+            this.minScores[player - 1] = Math.min(this.minScores[player - 1], score);
+            this.maxScores[player - 1] = Math.max(this.maxScores[player - 1], score);
+            this.histograms[player - 1][Math.min(score / BUCKET_WIDTH, BUCKETS - 1)]++;
+        }
+        if (game.getScore(1) > game.getScore(2)){
+            this.wins1++;
+        } else if (game.getScore(1) < game.getScore(2)){
+            this.wins2++;
+        }
+    }
+
+    /**
+     * adds time spent in a phase of a move
+     * @param phase PHASE_GENERATE, PHASE_CHOOSE or PHASE_SUBMIT
+     * @param nanos time spent
+     */
+    public void addTime(int phase, long nanos){
+        this.phaseNanos[phase] += nanos;
+    }
+
+    /**
+     * adds another task's results to these
+     * @param other results to add
+     */
+    public void merge(SelfPlayStats other){
+        this.games += other.games;
+        this.wins1 += other.wins1;
+        this.wins2 += other.wins2;
+        this.moves += other.moves;
+        for (int phase = 0; phase < this.phaseNanos.length; phase++){
+            this.phaseNanos[phase] += other.phaseNanos[phase];
+        }
+        for (int p = 0; p < 2; p++){
+            this.scoreSums[p] += other.scoreSums[p];
+            this.scoreSquareSums[p] += other.scoreSquareSums[p];
+            this.minScores[p] = Math.min(this.minScores[p], other.minScores[p]);
+            this.maxScores[p] = Math.max(this.maxScores[p], other.maxScores[p]);
+            for (int b = 0; b < BUCKETS; b++){
+                this.histograms[p][b] += other.histograms[p][b];
+            }
+        }
+    }
+
+    /**
+     * sets how long the whole run took, for games per second
+     * @param nanos wall clock time
+     */
+    public void setWallNanos(long nanos){
+        this.wallNanos = nanos;
+    }
+
+    /**
+     * accessor for the number of games
+     * @return games played
+     */
+    public int getGames(){
+        return this.games;
+    }
+
+    /**
+     * accessor for the number of wins
+     * @param player 1 or 2
+     * @return games won
+     */
+    public int getWins(int player){
+        return player == 1 ? this.wins1 : this.wins2;
+    }
+
+    /**
+     * accessor for the average score
+     * @param player 1 or 2
+     * @return mean final score, 0 if no games were played
+     */
+    public double getMeanScore(int player){
+        return this.games == 0 ? 0 : (double) this.scoreSums[player - 1] / this.games;
+    }
+
+    /**
+     * accessor for how spread out the scores are
+     * @param player 1 or 2
+     * @return standard deviation of the final score
+     */
+    public double getScoreDeviation(int player){
+        if (this.games == 0){
+            return 0;
+        }
+        double mean = this.getMeanScore(player);
+        return Math.sqrt(Math.max(0, this.scoreSquareSums[player - 1] / this.games - mean * mean));
+    }
+
+    /**
+     * accessor for games per second
+     * @return games per second of wall clock time
+     */
+    public double getGamesPerSecond(){
+        return this.wallNanos == 0 ? 0 : this.games * 1e9 / this.wallNanos;
+    }
+
+    /**
+     * accessor for the time spent in a phase, added up over every thread
+     * @param phase PHASE_GENERATE, PHASE_CHOOSE or PHASE_SUBMIT
+     * @return nanoseconds
+     */
+    public long getPhaseNanos(int phase){
+        return this.phaseNanos[phase];
+    }
+
+    /**
+     * report of the results
+     * @return several lines of text
+     */
+    @Override
+    public String toString(){
+        StringBuilder report = new StringBuilder();
+        report.append(String.format("%d games, %.1f games/s, %.1f moves/game%n", this.games,
+                this.getGamesPerSecond(), this.games == 0 ? 0.0 : (double) this.moves / this.games));
+        report.append(String.format("wins: player 1 %d, player 2 %d, ties %d%n", this.wins1, this.wins2,
+                this.games - this.wins1 - this.wins2));
+        for (int phase = 0; phase < this.phaseNanos.length; phase++){
+            report.append(String.format("%-9s %8.2f us/move%n", PHASE_NAMES[phase],
+                    this.moves == 0 ? 0.0 : this.phaseNanos[phase] / 1e3 / this.moves));
+        }
+        for (int player = 1; player <= 2; player++){
+            report.append(String.format("player %d score: mean %.1f, sd %.1f, min %d, max %d%n", player,
+                    this.getMeanScore(player), this.getScoreDeviation(player),
+                    this.games == 0 ? 0 : this.minScores[player - 1],
+                    this.games == 0 ? 0 : this.maxScores[player - 1]));
+            for (int b = 0; b < BUCKETS; b++){
+                if (this.histograms[player - 1][b] > 0){
+                    String range = b == BUCKETS - 1 ? (b * BUCKET_WIDTH) + "+"
+                            : (b * BUCKET_WIDTH) + "-" + ((b + 1) * BUCKET_WIDTH - 1);
+                    report.append(String.format("  %9s %6d%n", range, this.histograms[player - 1][b]));
+                }
+            }
+        }
+        return report.toString();
+    }
+}
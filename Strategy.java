@@ -0,0 +1,63 @@
+package indy;
+
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Strategy picks which legal move a computer player makes
+ * Used by SelfPlay to play games between different strategies
+ */
+public interface Strategy {
+
+    /**
+     * always plays the highest scoring move, what the computer opponent in Game does
+     */
+    Strategy HIGHEST_SCORE = (GameState game, List<Move> moves, Random random) -> moves.get(0);
+
+    /**
+     * plays any legal move
+     */
+    Strategy RANDOM = (GameState game, List<Move> moves, Random random) ->
+            moves.get(random.nextInt(moves.size()));
+
+    /**
+     * plays as many tiles as possible, the highest scoring of those moves,
+     * so the rack is turned over quickly
+     */
+    Strategy MOST_TILES = (GameState game, List<Move> moves, Random random) -> {
+        Move best = moves.get(0);
+        for (Move move : moves){
+            if (move.getTileCount() > best.getTileCount()){
+                best = move;
+            }
+        }
+        return best;
+    };
+
+    /**
+     * picks a move
+     * @param game game being played, not to be changed
+     * @param moves every legal move for the current player, highest score first, never empty
+     * @param random random for this game, so that games can be replayed
+     * @return move to play, one of moves
+     */
+    Move choose(GameState game, List<Move> moves, Random random);
+
+    /**
+     * finds a built in strategy by name
+     * @param name highest, random or tiles
+     * @return strategy
+     */
+    static Strategy forName(String name){
+        switch (name){
+            case "highest":
+                return HIGHEST_SCORE;
+            case "random":
+                return RANDOM;
+            case "tiles":
+                return MOST_TILES;
+            default:
+                throw new IllegalArgumentException("unknown strategy " + name);
+        }
+    }
+}
@@ -7,31 +7,27 @@ import javafx.scene.input.MouseEvent;
 import javafx.scene.layout.Pane;
 import javafx.scene.paint.Color;
 import javafx.scene.shape.Rectangle;
-import javafx.scene.text.Font;
 import javafx.scene.text.Text;
 import javafx.scene.text.TextAlignment;
-import java.util.ArrayList;
 
 /**
  * Tile Class inherits from GameSquare
  * represents the tiles used in the game
  */
 public class Tile extends GameSquare{
-    private ArrayList<Character> letters;
     private Pane pane;
+    private Board board;
     public char letter;
     private Text letterText;
     private Rectangle clickable;
     private Rectangle background;
     private Text scoreText;
     private int score;
-    private GameSquare[][] gameSquareBoard;
     private boolean temporary;
     private int initialX;
     private int initialY;
     private int rowIndex;
     private int colIndex;
-    private Tile[][] tileBoard;
     private Label blankTileLabel;
 
     /**
@@ -40,34 +36,29 @@ public class Tile extends GameSquare{
      * @param x x location
      * @param y y location
      * @param myPane parent pane
-     * @param myGameSquareBoard gameSquareBoard
-     * @param myTileBoard tileBoard
-     * @param myLetters pool of letters (set to actual Scrabble probability distribution)
+     * @param myBoard board the tile is played on
+     * @param myLetter letter drawn from the bag, ' ' for a blank
      */
-    public Tile(int x, int y, Pane myPane, GameSquare [][] myGameSquareBoard,
-                Tile [][] myTileBoard, ArrayList<Character> myLetters){
+    public Tile(int x, int y, Pane myPane, Board myBoard, char myLetter){
         super(x, y, myPane);
         this.pane = myPane;
         this.temporary = true;
-        this.gameSquareBoard = myGameSquareBoard;
-        this.tileBoard = myTileBoard;
+        this.board = myBoard;
         this.initialX = x;
         this.initialY = y;
-        this.letters = myLetters;
-        this.setBackground(x, y);
-        this.blankTileLabel = new Label();
-        this.setupBlankLabel();
+        this.letter = myLetter;
         this.letterText = new Text();
         this.scoreText = new Text();
         this.score = 0;
         this.clickable = new Rectangle(x, y, Constants.SQUARE_DIM, Constants.SQUARE_DIM);
-        this.setLetter(x, y);
+        this.setupLetterText(x, y);
         this.setupScoreLabel(x, y);
         this.setupClickable();
     }
 
     /**
      * overrides background to be in tile color
+     * called by the GameSquare constructor
      * @param x x location
      * @param y y location
      */
@@ -77,6 +68,17 @@ public class Tile extends GameSquare{
         this.background.setFill(Constants.TILE_COLOR);
     }
 
+    /**
+     * shows another letter on a tile on the rack, so tile views can be
+     * reused for whichever player's rack is shown
+     * @param myLetter letter drawn from the bag, ' ' for a blank
+     */
+    public void setLetter(char myLetter){
+        this.letter = myLetter;
+        this.setupLetterText(this.initialX, this.initialY);
+        this.setupScoreLabel(this.initialX, this.initialY);
+    }
+
     /**
      * moves tile along with mouse if it is clicked and dragged
      * @param event mouseDragged
@@ -115,41 +117,77 @@ public class Tile extends GameSquare{
         int boardX = Constants.SQUARE_DIM * (int) (event.getX() / Constants.SQUARE_DIM);
         int boardY = Constants.SQUARE_DIM * (int) (event.getY() / Constants.SQUARE_DIM);
         //check if the spot you want to move to is valid
-        //otherwise return to original position
-        if(!this.isValidSpot(boardY / Constants.SQUARE_DIM, boardX /Constants.SQUARE_DIM)){
+        //otherwise take tile off the board and return to original position
+        int row = boardY / Constants.SQUARE_DIM;
+        int col = boardX / Constants.SQUARE_DIM;
+        if(!this.isValidSpot(row, col)){
+            this.board.removeTile(this);
             this.resetPos();
             return;
         }
 
         //if intended spot is empty, move all layers of tile to that spot
-        //add tile to tileBoard in appropriate spot
-        if(this.tileBoard[boardY / Constants.SQUARE_DIM][boardX /Constants.SQUARE_DIM] == null){
-            this.background.setX(boardX);
-            this.background.setY(boardY);
-            this.letterText.setX(boardX + Constants.LETTER_OFFSET);
-            this.letterText.setY(boardY + Constants.SQUARE_DIM - Constants.LETTER_OFFSET);
-            this.scoreText.setY(boardY + Constants.SQUARE_DIM - Constants.SCORE_YOFFSET);
-            this.scoreText.setX(boardX + Constants.SCORE_XOFFSET);
-            this.clickable.setX(boardX);
-            this.clickable.setY(boardY);
-            this.rowIndex = boardY / Constants.SQUARE_DIM;
-            this.colIndex = boardX /Constants.SQUARE_DIM;
-            this.tileBoard[this.rowIndex][this.colIndex] = this;
+        //add tile to the board in appropriate spot
+        Tile occupant = this.board.getTile(row, col);
+        if(occupant == null || occupant == this){
+            this.setPosition(boardX, boardY);
+            this.board.placeTile(this, row, col);
+            this.rowIndex = row;
+            this.colIndex = col;
         } else{
+            this.board.removeTile(this);
             this.resetPos();
         }
     }
 
     /**
-     * picks a letter for tile from pool of remaining letters
+     * puts the tile on a board square without dragging it, used for computer moves
+     * @param row row number
+     * @param col column number
+     * @param letter letter the tile is played as, only used if the tile is blank
+     */
+    public void placeOn(int row, int col, char letter){
+        if(this.isBlank()){
+            this.letter = letter;
+            this.setupLetterText(this.initialX, this.initialY);
+        }
+        this.setPosition(col * Constants.SQUARE_DIM, row * Constants.SQUARE_DIM);
+        this.board.placeTile(this, row, col);
+        this.rowIndex = row;
+        this.colIndex = col;
+    }
+
+    /**
+     * puts a tile that was already scored on its board square, used for saved games
+     * @param row row number
+     * @param col column number
+     * @param letter letter the tile is played as, only used if the tile is blank
+     */
+    public void placeScored(int row, int col, char letter){
+        if(this.isBlank()){
+            this.letter = letter;
+            this.setupLetterText(this.initialX, this.initialY);
+        }
+        this.setPosition(col * Constants.SQUARE_DIM, row * Constants.SQUARE_DIM);
+        this.rowIndex = row;
+        this.colIndex = col;
+        this.temporary = false;
+    }
+
+    /**
+     * moves all layers of tile to a location
      * @param x x location
      * @param y y location
      */
-    private void setLetter(int x, int y){
-        int num = (int) (this.letters.size() * Math.random());
-        this.letter = this.letters.get(num);
-        this.letters.remove(num);
-        this.setupLetterText(x, y);
+    private void setPosition(int x, int y){
+        this.background.setX(x);
+        this.background.setY(y);
+        this.letterText.setX(x + Constants.LETTER_OFFSET);
+        this.letterText.setY(y + Constants.SQUARE_DIM - Constants.LETTER_OFFSET);
+        this.scoreText.setY(y + Constants.SQUARE_DIM - Constants.SCORE_YOFFSET);
+        this.scoreText.setX(x + Constants.SCORE_XOFFSET);
+        this.clickable.setX(x);
+        this.clickable.setY(y);
     }
 
     /**
@@ -161,7 +199,7 @@ public class Tile extends GameSquare{
         this.letterText.setText(String.valueOf(this.letter));
         this.letterText.setTextAlignment(TextAlignment.CENTER);
         this.letterText.resize(Constants.SQUARE_DIM, Constants.SQUARE_DIM);
-        this.letterText.setFont(new Font(Constants.TILE_TEXT_SIZE));
+        this.letterText.setFont(Constants.TILE_FONT);
         this.letterText.setY(y + Constants.SQUARE_DIM - Constants.LETTER_OFFSET);
         this.letterText.setX(x + Constants.LETTER_OFFSET);
     }
@@ -172,37 +210,12 @@ public class Tile extends GameSquare{
      * @param y y location
      */
     private void setupScoreLabel(int x, int y){
-        //switch statement using official Scrabble point values
-        switch (this.letter){
-            case 'D': case 'G':
-                this.score = 2;
-                break;
-            case 'B': case 'C': case 'M': case 'P':
-                this.score = 3;
-                break;
-            case 'F': case 'H': case 'V': case 'W': case 'Y':
-                this.score = 4;
-                break;
-            case 'K':
-                this.score = 5;
-                break;
-            case 'J': case 'X':
-                this.score = 8;
-                break;
-            case 'Q': case 'Z':
-                this.score = 10;
-                break;
-            case ' ':
-                this.score = 0;
-                break;
-            default:
-                this.score = 1;
-        }
+        this.score = LetterValues.getScore(this.letter);
         //graphically shows score
         this.scoreText.setText(String.valueOf(this.score));
         this.scoreText.setTextAlignment(TextAlignment.CENTER);
         this.scoreText.resize(Constants.SCORE_SIZE, Constants.SCORE_SIZE);
-        this.scoreText.setFont(new Font(Constants.SCORE_TEXT_SIZE));
+        this.scoreText.setFont(Constants.SCORE_FONT);
         this.scoreText.setY(y + Constants.SQUARE_DIM - Constants.SCORE_YOFFSET);
         this.scoreText.setX(x + Constants.SCORE_XOFFSET);
     }
@@ -228,22 +241,23 @@ public class Tile extends GameSquare{
         return this.score;
     }
 
+    /**
+     * checks if tile is a blank, blanks keep a score of 0 whatever letter they are played as
+     * @return true if blank
+     */
+    public boolean isBlank(){
+        return this.score == 0;
+    }
+
     /**
      * resets tile to its original position on tile rack
      */
     public void resetPos(){
-        this.background.setX(this.initialX);
-        this.background.setY(this.initialY);
-        this.letterText.setX(this.initialX + Constants.LETTER_OFFSET);
-        this.letterText.setY(this.initialY + Constants.SQUARE_DIM - Constants.LETTER_OFFSET);
-        this.scoreText.setY(this.initialY + Constants.SQUARE_DIM - Constants.SCORE_YOFFSET);
-        this.scoreText.setX(this.initialX + Constants.SCORE_XOFFSET);
-        this.clickable.setX(this.initialX);
-        this.clickable.setY(this.initialY);
+        this.setPosition(this.initialX, this.initialY);
 
         //if tile was originally blank, it loses the letter it
         //was assigned so you can pick a new letter when you actually use it
-        if(this.score == 0){
+        if(this.isBlank()){
             this.letter = ' ';
             this.setupLetterText(this.initialX, this.initialY);
         }
@@ -257,26 +271,18 @@ public class Tile extends GameSquare{
      */
     private boolean isValidSpot(int row, int col){
         //edge case of dragging over tile rack or offscreen
-        if(row > this.tileBoard[0].length-1 || row < 0 ||
-                col > this.tileBoard.length-1 || col < 0){
+        BoardState state = this.board.getState();
+        if(row > state.getSize()-1 || row < 0 ||
+                col > state.getSize()-1 || col < 0){
             return false;
         }
 
         //check if board is empty
-        boolean boardEmpty = true;
-        for (Tile[] tiles : this.tileBoard) {
-            for (int j = 0; j < this.tileBoard[0].length; j++) {
-                if (tiles[j] != null) {
-                    boardEmpty = false;
-                    break;
-                }
-            }
-        }
-        if(boardEmpty){
+        if(state.isEmpty()){
             return true;
         }
         //check if at least one neighboring square is full
-        return this.checkNeighboringSquaresNotEmpty(row, col);
+        return state.hasNeighboringTile(row, col);
     }
 
     /**
@@ -344,6 +350,10 @@ public class Tile extends GameSquare{
      * pane now takes in key input of what letter user chooses
      */
     private void handleBlankTile(){
+        //only made the first time the tile is played as a blank
+        if (this.blankTileLabel == null){
+            this.setupBlankLabel();
+        }
         this.pane.getChildren().add(this.blankTileLabel);
         this.pane.requestFocus();
         this.pane.setOnKeyPressed((KeyEvent e) -> this.getBlankLetter(e));
@@ -365,13 +375,18 @@ public class Tile extends GameSquare{
         }
 
         //another check on making sure user actually provides a letter
-        this.letter = letterArray[0];
-        if (!this.letters.contains(this.letter)){
+        if (letterArray[0] < 'A' || letterArray[0] > 'Z'){
+            this.pane.getChildren().remove(this.blankTileLabel);
             this.handleBlankTile();
+            return;
         }
+        this.letter = letterArray[0];
 
-        //adds typed letter to tile graphically
+        //adds typed letter to tile graphically, and to the board if the tile is on it
         this.setupLetterText((int) this.background.getX(), (int) this.background.getY());
+        if (this.board.getTile(this.rowIndex, this.colIndex) == this){
+            this.board.placeTile(this, this.rowIndex, this.colIndex);
+        }
         this.pane.getChildren().remove(this.blankTileLabel);
         this.pane.setOnKeyPressed(null);
     }
@@ -380,46 +395,12 @@ public class Tile extends GameSquare{
      * visually sets up display message when dealing with a blank tile
      */
     private void setupBlankLabel(){
+        this.blankTileLabel = new Label();
         this.blankTileLabel.setStyle(Constants.BLANK_BACKGROUND);
         this.blankTileLabel.setText("Press the letter you want \n the blank tile to be! ");
         this.blankTileLabel.setAlignment(Pos.CENTER);
-        this.blankTileLabel.setFont(new Font(Constants.DISPLAY_FONT));
-        this.blankTileLabel.setPrefSize(Constants.SCENE_WIDTH,
-                Constants.SCENE_HEIGHT + 2 * Constants.SQUARE_DIM);
-    }
-
-    /**
-     * checks if at least one neighboring square is full
-     * @param row row number
-     * @param col column number
-     * @return true/false if all neighboring squares are empty
-     */
-    private boolean checkNeighboringSquaresNotEmpty(int row, int col){
-        boolean NeighboringSquaresNotEmpty = false;
-        //check left
-        if (col > 0){
-            if(this.tileBoard[row][col - 1] != null){
-                NeighboringSquaresNotEmpty = true;
-            }
-        }
-        //check right
-        if (col < this.gameSquareBoard[0].length-1){
-            if(this.tileBoard[row][col + 1] != null){
-                NeighboringSquaresNotEmpty = true;
-            }
-        }
-        //check up
-        if (row > 0){
-            if(this.tileBoard[row - 1][col] != null){
-                NeighboringSquaresNotEmpty = true;
-            }
-        }
-        //check down
-        if (row < this.gameSquareBoard.length - 1){
-            if(this.tileBoard[row + 1][col] != null){
-                NeighboringSquaresNotEmpty = true;
-            }
-        }
-        return NeighboringSquaresNotEmpty;
+        this.blankTileLabel.setFont(Constants.MESSAGE_FONT);
+        this.blankTileLabel.setPrefSize(this.board.getWidth(),
+                this.board.getWidth() + 2 * Constants.SQUARE_DIM);
     }
 }
@@ -0,0 +1,187 @@
+package indy;
+
+import java.util.SplittableRandom;
+
+/**
+ * TileBag holds the tiles that have not been drawn yet
+ * Starts with the official Scrabble letter distribution, ' ' is a blank
+ * The tiles left are kept in an array in no particular order: a draw takes
+ * a random one and moves the last tile into its place, so drawing and
+ * putting tiles back never shift the rest. A count of each letter is kept
+ * next to it for questions about what is left. Every bag has its own
+ * random, so games on different threads never wait on each other and a
+ * game can be dealt again from its seed
+ */
+public class TileBag {
+    //number of tiles of each letter A-Z, then blanks
+    private static final int[] DISTRIBUTION = {9, 2, 2, 4, 12, 2, 3, 2, 9, 1, 1, 4, 2,
+            6, 8, 2, 1, 6, 4, 6, 4, 2, 2, 1, 2, 1, 2};
+    private static final int BLANK_INDEX = 26;
+
+    private char[] tiles;
+    private int size;
+    private int[] counts;
+    private SplittableRandom random;
+
+    /**
+     * constructor for a bag drawn from at random
+     */
+    public TileBag(){
+        this(new SplittableRandom());
+    }
+
+    /**
+     * constructor for a bag that deals the same tiles every time for the same seed
+     * @param seed seed of the bag's random
+     */
+    public TileBag(long seed){
+        this(new SplittableRandom(seed));
+    }
+
+    /**
+     * constructor for a bag drawn from with a given random, e.g. one split
+     * off a simulation's random
+     * @param myRandom random used to pick tiles, only used by this bag
+     */
+    public TileBag(SplittableRandom myRandom){
+        this(DISTRIBUTION, myRandom);
+    }
+
+    /**
+     * constructor for a bag holding given tiles, e.g. a saved game's bag
+     * @param myCounts number of tiles of each letter A-Z, then blanks
+     * @param myRandom random used to pick tiles, only used by this bag
+     */
+    public TileBag(int[] myCounts, SplittableRandom myRandom){
+        if (myCounts.length != DISTRIBUTION.length){
+            throw new IllegalArgumentException("expected " + DISTRIBUTION.length + " counts, got "
+                    + myCounts.length);
+        }
+        this.random = myRandom;
+        this.counts = myCounts.clone();
+        int total = 0;
+        for (int index = 0; index < DISTRIBUTION.length; index++){
+            total += Math.max(DISTRIBUTION[index], myCounts[index]);
+        }
+        this.tiles = new char[total];
+        for (int index = 0; index < DISTRIBUTION.length; index++){
+            for (int k = 0; k < myCounts[index]; k++){
+                this.tiles[this.size++] = getLetter(index);
+            }
+        }
+    }
+
+    /**
+     * picks a random tile and takes it out of the bag
+     * every tile left is equally likely, so common letters come up more often
+     * @return letter of the tile, ' ' for a blank
+     */
+    public char draw(){
+        if (this.size == 0){
+            throw new IllegalStateException("the bag is empty");
+        }
+        int num = this.random.nextInt(this.size);
+        char letter = this.tiles[num];
+        this.tiles[num] = this.tiles[--this.size];
+        this.counts[getIndex(letter)]--;
+        if (Metrics.ENABLED){
+            Metrics.TILE_DRAWS.increment();
+        }
+        return letter;
+    }
+
+    /**
+     * takes a given tile out of the bag, e.g. to deal the same tiles again
+     * when a saved game is replayed
+     * @param letter letter of the tile, ' ' for a blank
+     */
+    public void take(char letter){
+        for (int i = 0; i < this.size; i++){
+            if (this.tiles[i] == letter){
+                this.tiles[i] = this.tiles[--this.size];
+                this.counts[getIndex(letter)]--;
+                return;
+            }
+        }
+        throw new IllegalStateException("no '" + letter + "' left in the bag");
+    }
+
+    /**
+     * puts a tile back in the bag
+     * @param letter letter of the tile, ' ' for a blank
+     */
+    public void putBack(char letter){
+        int index = getIndex(letter);
+        if (index < 0 || this.size == this.tiles.length){
+            throw new IllegalArgumentException("'" + letter + "' cannot go back in the bag");
+        }
+        this.tiles[this.size++] = letter;
+        this.counts[index]++;
+    }
+
+    /**
+     * swaps tiles for new ones, the new tiles are drawn before the old ones go back
+     * @param letters letters of the tiles to swap, ' ' for a blank
+     * @return letters of the new tiles, in the same order
+     */
+    public char[] exchange(char[] letters){
+        if (letters.length > this.size){
+            throw new IllegalStateException("only " + this.size + " tiles left to exchange for");
+        }
+        char[] drawn = new char[letters.length];
+        for (int i = 0; i < drawn.length; i++){
+            drawn[i] = this.draw();
+        }
+        for (char letter : letters){
+            this.putBack(letter);
+        }
+        return drawn;
+    }
+
+    /**
+     * checks if every tile has been drawn
+     * @return true if empty
+     */
+    public boolean isEmpty(){
+        return this.size == 0;
+    }
+
+    /**
+     * accessor for the number of tiles left
+     * @return tiles left
+     */
+    public int size(){
+        return this.size;
+    }
+
+    /**
+     * accessor for the number of tiles left of one letter
+     * @param letter letter, ' ' for blanks
+     * @return tiles of that letter left
+     */
+    public int getCount(char letter){
+        int index = getIndex(letter);
+        return index < 0 ? 0 : this.counts[index];
+    }
+
+    /**
+     * index of a letter in counts
+     * @param letter letter, ' ' for a blank
+     * @return 0-25 for A-Z, BLANK_INDEX for a blank, -1 otherwise
+     */
+    private static int getIndex(char letter){
+        if (letter == ' '){
+            return BLANK_INDEX;
+        }
+        return letter >= 'A' && letter <= 'Z' ? letter - 'A' : -1;
+    }
+
+    /**
+     * letter of an index in counts
+     * @param index 0-25 or BLANK_INDEX
+     * @return letter, ' ' for a blank
+     */
+    private static char getLetter(int index){
+        return index == BLANK_INDEX ? ' ' : (char) ('A' + index);
+    }
+}
@@ -1,76 +1,161 @@
 package indy;
 
 import java.io.File;
-import java.io.FileNotFoundException;
+import java.io.IOException;
 import java.util.ArrayList;
-import java.util.Scanner;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
- * WordTree represents the BST used to check the validity of words
- * Contains a Node for each word
+ * WordTree is used to check the validity of words
+ * Words are stored in a Dawg, normally memory mapped from a precompiled
+ * snapshot next to the word list so that nothing has to be parsed at startup
  */
 public class WordTree {
-    private Node root;
-    private ArrayList<String> words;
+    private Dawg dawg;
+    private AnagramIndex anagramIndex;
 
     /**
-     * constructor for BST wordTree
-     * initializes instance variables
+     * constructor for wordTree, uses the word list and snapshot paths in Constants
+     * either can be overridden with the indy.wordList and indy.wordSnapshot properties
      */
     public WordTree() {
-        this.words = new ArrayList<>();
-        this.getWords();
-        this.root = this.createTree(this.words, 0, this.words.size() - 1);
+        this(new File(System.getProperty("indy.wordList", Constants.WORD_LIST_PATH)),
+                new File(System.getProperty("indy.wordSnapshot", Constants.WORD_SNAPSHOT_PATH)));
     }
 
     /**
-     * reads text file of all valid Scrabble words into an arrayList
+     * constructor for wordTree
+     * maps the snapshot if it is up to date, otherwise builds the dawg
+     * from the word list and writes a new snapshot for next time
+     * @param wordList text file of all valid words
+     * @param snapshot precompiled dawg of the word list
      */
-    private void getWords() {
-        File file = new File("/Users/shivshankarprasad/Desktop/cs15/src/indy/ScrabbleWords.txt");
+    public WordTree(File wordList, File snapshot) {
+        long start = Metrics.start();
         try {
-            Scanner sc = new Scanner(file);
-            while (sc.hasNextLine()) {
-                String string = sc.nextLine();
-                this.words.add(string);
-            }
-            sc.close();
-        } catch (FileNotFoundException e) {
+            this.dawg = DawgFile.open(snapshot, wordList);
+        } catch (IOException e) {
             e.printStackTrace();
         }
+        if (this.dawg == null) {
+            this.dawg = Dawg.build(this.getWords(wordList));
+            try {
+                DawgFile.write(this.dawg, snapshot, wordList);
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        }
+        Metrics.DICTIONARY_LOAD.recordSince(start);
     }
 
     /**
-     * creates BST from sorted list
-     * recursively finds middle of list and splits
-     * @param words arrayList of all valid words
-     * @param start index of first word in list
-     * @param end index of last word in list
-     * @return returns the root node
+     * loads the default wordTree on a background thread
+     * @return future that completes once the dictionary is ready
      */
-    private Node createTree(ArrayList<String> words, int start, int end){
-        //ensures tree creation stops once all words are in tree
-        if (start > end){
-            return null;
-        }
-        //finds middle of list and creates a node
-        int middle = (start + end) / 2;
-        Node node = new Node(words.get(middle));
+    public static CompletableFuture<WordTree> loadAsync() {
+        return CompletableFuture.supplyAsync(WordTree::new);
+    }
 
-        //sets left and right of node as middle of new sublist to left and right
-        node.left = this.createTree(words, start, middle - 1);
-        node.right = this.createTree(words, middle + 1, end);
-        return node;
+    /**
+     * reads text file of all valid Scrabble words into a sorted list
+     * @param wordList text file of all valid words
+     * @return list of words, empty if the file could not be read
+     */
+    private List<String> getWords(File wordList) {
+        try {
+            return DawgFile.readWords(wordList);
+        } catch (IOException e) {
+            e.printStackTrace();
+            return new ArrayList<>();
+        }
     }
 
     /**
-     * searches for a given word in BST
-     * done recursively, actual code is in Node class
+     * searches for a given word
+     * follows one dawg edge per letter, actual code is in Dawg class
      * @param word the word we are searching for
      * @return returns word if valid, null if not valid
      */
     public String search(String word){
-        return this.root.search(word);
+        boolean found = this.dawg.contains(word);
+        if (Metrics.ENABLED) {
+            (found ? Metrics.WORD_HITS : Metrics.WORD_MISSES).increment();
+        }
+        return found ? word : null;
+    }
+
+    /**
+     * searches for a batch of words, e.g. a game log or a challenge list
+     * each word starts from the prefix it shares with the word before it,
+     * see Dawg.containsAll, so sorted batches are the cheapest
+     * @param words the words we are searching for
+     * @return bitmap with a bit set for each valid word, in the order the words were given
+     */
+    public BitSet searchAll(Collection<String> words){
+        List<String> list = words instanceof List ? (List<String>) words : new ArrayList<>(words);
+        BitSet found = this.dawg.containsAll(list);
+        if (Metrics.ENABLED) {
+            int hits = found.cardinality();
+            Metrics.WORD_HITS.add(hits);
+            Metrics.WORD_MISSES.add(list.size() - hits);
+        }
+        return found;
+    }
+
+    /**
+     * searches for a stream of words
+     * @param words the words we are searching for
+     * @return bitmap with a bit set for each valid word, in stream order
+     */
+    public BitSet searchAll(Stream<String> words){
+        return this.searchAll(words.collect(Collectors.toList()));
+    }
+
+    /**
+     * finds the words that match a pattern, e.g. "C?T" or "?AT*"
+     * @param pattern letters, '?' or ' ' for any letter and '*' for any letters
+     * @return lazy stream of matching words, in alphabetical order
+     */
+    public Stream<String> match(String pattern){
+        return this.dawg.match(pattern, "");
+    }
+
+    /**
+     * finds the words that match a pattern and contain some letters,
+     * e.g. "???????" and "Q" for seven letter words with a Q
+     * @param pattern letters, '?' or ' ' for any letter and '*' for any letters
+     * @param requiredLetters letters every word has to contain
+     * @return lazy stream of matching words, in alphabetical order
+     */
+    public Stream<String> match(String pattern, String requiredLetters){
+        return this.dawg.match(pattern, requiredLetters);
+    }
+
+    /**
+     * accessor for the dawg, used by anything that walks the lexicon
+     * letter by letter instead of looking up whole words
+     * @return dawg
+     */
+    public Dawg getDawg(){
+        return this.dawg;
+    }
+
+    /**
+     * accessor for the anagram index of the same words
+     * built the first time it is asked for, since only hints and
+     * simulations need it
+     * @return anagram index
+     */
+    public synchronized AnagramIndex getAnagramIndex(){
+        if (this.anagramIndex == null) {
+            this.anagramIndex = AnagramIndex.build(this.dawg);
+        }
+        return this.anagramIndex;
     }
 
 }
@@ -0,0 +1,88 @@
+package indy;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * BenchmarkPositions records the positions the benchmarks run against
+ * Games are played with a seeded bag and the best scoring move every turn,
+ * so every run of every benchmark sees exactly the same boards
+ */
+public class BenchmarkPositions {
+    public static final long SEED = 15;
+
+    /**
+     * loads the dictionary the same way the game does
+     * @return wordTree
+     */
+    public static WordTree loadWordTree(){
+        return new WordTree();
+    }
+
+    /**
+     * accessor for the word list, overridden with the indy.wordList property like WordTree
+     * @return word list file
+     */
+    public static File getWordList(){
+        return new File(System.getProperty("indy.wordList", Constants.WORD_LIST_PATH));
+    }
+
+    /**
+     * starts a game with the seeded bag
+     * @return new game
+     */
+    public static GameState newGame(){
+        return new GameState(new TileBag(SEED));
+    }
+
+    /**
+     * plays a seeded game until the player to move has no legal move
+     * @param wordTree dictionary
+     * @return moves in the order they were played
+     */
+    public static List<Move> recordGame(WordTree wordTree){
+        List<Move> moves = new ArrayList<>();
+        GameState game = newGame();
+        MoveGenerator generator = new MoveGenerator(wordTree.getDawg());
+        while (true){
+            List<Move> legal = generator.generate(game.getBoard(), game.getRackLetters());
+            if (legal.isEmpty()){
+                return moves;
+            }
+            Move move = legal.get(0);
+            if (!game.play(move, wordTree).isValid()){
+                throw new IllegalStateException("generated move was rejected: " + move);
+            }
+            moves.add(move);
+        }
+    }
+
+    /**
+     * replays the first moves of a recorded game
+     * @param wordTree dictionary
+     * @param moves recorded game
+     * @param count number of moves to play
+     * @return game after those moves
+     */
+    public static GameState replay(WordTree wordTree, List<Move> moves, int count){
+        GameState game = newGame();
+        for (int i = 0; i < count; i++){
+            game.play(moves.get(i), wordTree);
+        }
+        return game;
+    }
+
+    /**
+     * puts a move's tiles on the board without submitting it
+     * @param board board to place on
+     * @param move move to place
+     */
+    public static void place(BoardState board, Move move){
+        for (int i = 0; i < move.getWord().length(); i++){
+            if (move.isPlaced(i)){
+                board.placeTile(move.getRow(i), move.getCol(i), move.getWord().charAt(i), move.isBlank(i));
+            }
+        }
+    }
+}
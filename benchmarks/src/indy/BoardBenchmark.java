@@ -0,0 +1,105 @@
+package indy;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * BoardBenchmark measures finding and scoring the words a move makes
+ * sparse is the third move of the recorded game, dense is its last move
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class BoardBenchmark {
+    @Param({"sparse", "dense"})
+    private String position;
+
+    private BoardState board;
+    private List<String> words;
+    private WordTree wordTree;
+    private MoveGenerator generator;
+    private char[] rack;
+
+    /**
+     * replays the recorded game up to the position and puts the next move's tiles on the board
+     */
+    @Setup
+    public void setup(){
+        this.wordTree = BenchmarkPositions.loadWordTree();
+        List<Move> moves = BenchmarkPositions.recordGame(this.wordTree);
+        int count = this.position.equals("sparse") ? 2 : moves.size() - 1;
+        GameState game = BenchmarkPositions.replay(this.wordTree, moves, count);
+        this.board = game.getBoard();
+        this.rack = game.getRackLetters();
+        this.generator = new MoveGenerator(this.wordTree.getDawg());
+        BenchmarkPositions.place(this.board, moves.get(count));
+        this.words = new ArrayList<>();
+    }
+
+    /**
+     * finds and scores the words across
+     * @return score
+     */
+    @Benchmark
+    public int checkHorizWords(){
+        this.words.clear();
+        return this.board.checkHorizWords(this.words);
+    }
+
+    /**
+     * finds and scores the words down
+     * @return score
+     */
+    @Benchmark
+    public int checkVertWords(){
+        this.words.clear();
+        return this.board.checkVertWords(this.words);
+    }
+
+    /**
+     * finds and scores the words through the placed tiles only, what GameState.submit uses
+     * @return score
+     */
+    @Benchmark
+    public int checkPlacedWords(){
+        this.words.clear();
+        return this.board.checkPlacedWords(this.words);
+    }
+
+    /**
+     * finds, scores and looks up the words without making strings, should allocate nothing
+     * @return score, negative if a word is not valid
+     */
+    @Benchmark
+    public int scoreAndValidate(){
+        int score = this.board.scorePlacedWords();
+        return this.board.findInvalidWord(this.wordTree.getDawg()) < 0 ? score : -1;
+    }
+
+    /**
+     * finds every legal move for the rack before the next move, what the computer player does
+     * the placed tiles are temporary, so the generator ignores them
+     * @return moves
+     */
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public List<Move> generateMoves(){
+        return this.generator.generate(this.board, this.rack);
+    }
+}
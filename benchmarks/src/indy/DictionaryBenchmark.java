@@ -0,0 +1,177 @@
+package indy;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * DictionaryBenchmark measures loading the dictionary and looking words up in it
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class DictionaryBenchmark {
+    //number of sample words, a power of two so the index can wrap with a mask
+    private static final int SAMPLES = 1024;
+    private static final int BATCH = 1 << 16;
+
+    private File wordList;
+    private File snapshot;
+    private WordTree wordTree;
+    private String[] hits;
+    private String[] misses;
+    private List<String> batch;
+    private List<String> sortedBatch;
+    private int index;
+
+    /**
+     * loads the dictionary and picks the words to look up
+     * misses are real words with one letter changed, so they share long prefixes with hits
+     * @throws IOException if the word list cannot be read
+     */
+    @Setup
+    public void setup() throws IOException {
+        this.wordList = BenchmarkPositions.getWordList();
+        List<String> words = DawgFile.readWords(this.wordList);
+        this.snapshot = File.createTempFile("words", ".dawg");
+        DawgFile.write(Dawg.build(words), this.snapshot, this.wordList);
+        this.wordTree = new WordTree(this.wordList, this.snapshot);
+
+        Random random = new Random(BenchmarkPositions.SEED);
+        this.hits = new String[SAMPLES];
+        this.misses = new String[SAMPLES];
+        for (int i = 0; i < SAMPLES; i++){
+            this.hits[i] = words.get(random.nextInt(words.size()));
+            String miss;
+            do {
+                char[] letters = words.get(random.nextInt(words.size())).toCharArray();
+                letters[random.nextInt(letters.length)] = (char) ('A' + random.nextInt(26));
+                miss = new String(letters);
+            } while (this.wordTree.search(miss) != null);
+            this.misses[i] = miss;
+        }
+
+        //a large log of moves, half real words and half misses, in no particular order
+        this.batch = new ArrayList<>(BATCH);
+        for (int i = 0; i < BATCH; i++){
+            this.batch.add(i % 2 == 0 ? words.get(random.nextInt(words.size())) : this.misses[i & (SAMPLES - 1)]);
+        }
+        this.sortedBatch = new ArrayList<>(this.batch);
+        Collections.sort(this.sortedBatch);
+    }
+
+    /**
+     * deletes the snapshot written by setup
+     */
+    @TearDown
+    public void tearDown(){
+        this.snapshot.delete();
+    }
+
+    /**
+     * reads and sorts the word list and builds the dawg, what the first start does
+     * @return dawg
+     * @throws IOException if the word list cannot be read
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public Dawg buildFromWordList() throws IOException {
+        return Dawg.build(DawgFile.readWords(this.wordList));
+    }
+
+    /**
+     * maps the snapshot, what every later start does
+     * @return dawg
+     * @throws IOException if the snapshot cannot be read
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public Dawg openSnapshot() throws IOException {
+        return DawgFile.open(this.snapshot, this.wordList);
+    }
+
+    /**
+     * looks up a word that is in the dictionary
+     * @return the word
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public String searchHit(){
+        return this.wordTree.search(this.hits[this.index++ & (SAMPLES - 1)]);
+    }
+
+    /**
+     * looks up a word that is not in the dictionary
+     * @return null
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public String searchMiss(){
+        return this.wordTree.search(this.misses[this.index++ & (SAMPLES - 1)]);
+    }
+
+    /**
+     * checks a large batch one word at a time
+     * @return number of valid words
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    @OperationsPerInvocation(BATCH)
+    public int searchEach(){
+        int count = 0;
+        for (String word : this.batch){
+            if (this.wordTree.search(word) != null){
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * checks the same batch with searchAll
+     * @return bitmap of valid words
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    @OperationsPerInvocation(BATCH)
+    public BitSet searchAll(){
+        return this.wordTree.searchAll(this.batch);
+    }
+
+    /**
+     * checks the same batch sorted, like a word list or challenge list
+     * @return bitmap of valid words
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    @OperationsPerInvocation(BATCH)
+    public BitSet searchAllSorted(){
+        return this.wordTree.searchAll(this.sortedBatch);
+    }
+}
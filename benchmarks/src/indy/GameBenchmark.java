@@ -0,0 +1,82 @@
+package indy;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * GameBenchmark measures submitting moves, what Game.checkMove does minus the graphics
+ * The recorded game is replayed from the start, so each move is placed,
+ * its words found, scored and checked against the dictionary, and committed
+ * Times are per move
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class GameBenchmark {
+    //moves replayed per invocation, the recorded game runs a few moves longer
+    private static final int MOVES = 16;
+
+    private WordTree wordTree;
+    private List<Move> moves;
+
+    /**
+     * loads the dictionary and records the game
+     */
+    @Setup
+    public void setup(){
+        this.wordTree = BenchmarkPositions.loadWordTree();
+        List<Move> recorded = BenchmarkPositions.recordGame(this.wordTree);
+        if (recorded.size() < MOVES){
+            throw new IllegalStateException("the recorded game has only " + recorded.size() + " moves");
+        }
+        this.moves = recorded.subList(0, MOVES);
+    }
+
+    /**
+     * NewGame holds an empty game for each invocation, made outside the timed part
+     */
+    @State(Scope.Thread)
+    public static class NewGame {
+        private GameState game;
+
+        /**
+         * starts a new game before every invocation
+         */
+        @Setup(Level.Invocation)
+        public void setup(){
+            this.game = BenchmarkPositions.newGame();
+        }
+    }
+
+    /**
+     * plays the first MOVES moves of the recorded game
+     * @param newGame the empty game to play them on
+     * @return total score
+     */
+    @Benchmark
+    @OperationsPerInvocation(MOVES)
+    public int replayGame(NewGame newGame){
+        GameState game = newGame.game;
+        int score = 0;
+        for (Move move : this.moves){
+            score += game.play(move, this.wordTree).getScore();
+        }
+        return score;
+    }
+}
@@ -0,0 +1,243 @@
+package indy;
+
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * GameJournalTest saves seeded games, damages the save the way a crash would
+ * and checks that recover loads the game as it was before the damage
+ */
+public class GameJournalTest {
+    private static final long SEED = 15;
+    //large enough that the journal holds every move of a test
+    private static final int NO_SNAPSHOTS = 1000;
+
+    private static WordTree wordTree;
+    private static MoveGenerator generator;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    /**
+     * loads the dictionary once, the same way the game does
+     */
+    @BeforeClass
+    public static void loadWordTree(){
+        wordTree = new WordTree();
+        generator = new MoveGenerator(wordTree.getDawg());
+    }
+
+    /**
+     * a directory with no save has nothing to recover
+     */
+    @Test
+    public void recoverWithoutSave() throws IOException {
+        assertNull(GameJournal.recover(this.folder.getRoot(), wordTree.getDawg()));
+    }
+
+    /**
+     * a few moves are replayed from the journal on top of the first snapshot
+     */
+    @Test
+    public void recoverMoves() throws IOException {
+        File directory = this.folder.newFolder();
+        GameState game = newGame();
+        GameJournal journal = new GameJournal(directory, game, GameJournal.Sync.NEVER, 0, NO_SNAPSHOTS);
+        play(game, 5);
+        journal.close();
+
+        assertSameGame(game, GameJournal.recover(directory, wordTree.getDawg()));
+    }
+
+    /**
+     * moves are replayed from the latest snapshot when the journal has been started over
+     */
+    @Test
+    public void recoverAfterSnapshots() throws IOException {
+        File directory = this.folder.newFolder();
+        GameState game = newGame();
+        GameJournal journal = new GameJournal(directory, game, GameJournal.Sync.NEVER, 0, 3);
+        play(game, 7);
+        journal.close();
+
+        assertSameGame(game, GameJournal.recover(directory, wordTree.getDawg()));
+    }
+
+    /**
+     * a last entry that was cut off is dropped, the entries before it are kept
+     */
+    @Test
+    public void recoverCutOffJournal() throws IOException {
+        File directory = this.folder.newFolder();
+        GameState game = newGame();
+        GameJournal journal = new GameJournal(directory, game, GameJournal.Sync.NEVER, 0, NO_SNAPSHOTS);
+        List<GameState> states = play(game, 5);
+        journal.close();
+
+        File journalFile = new File(directory, GameJournal.JOURNAL_NAME);
+        byte[] bytes = Files.readAllBytes(journalFile.toPath());
+        Files.write(journalFile.toPath(), Arrays.copyOf(bytes, bytes.length - 3));
+
+        assertSameGame(states.get(4), GameJournal.recover(directory, wordTree.getDawg()));
+    }
+
+    /**
+     * an entry whose checksum does not match stops the replay, it and the entries after it are dropped
+     */
+    @Test
+    public void recoverBadChecksum() throws IOException {
+        File directory = this.folder.newFolder();
+        GameState game = newGame();
+        GameJournal journal = new GameJournal(directory, game, GameJournal.Sync.NEVER, 0, NO_SNAPSHOTS);
+        List<GameState> states = play(game, 5);
+        journal.close();
+
+        //changes the last tile drawn in the third entry, which replays just as well
+        //as the one that was drawn, so only the checksum shows it is wrong
+        File journalFile = new File(directory, GameJournal.JOURNAL_NAME);
+        byte[] bytes = Files.readAllBytes(journalFile.toPath());
+        int last = entryOffset(bytes, 3) - 1;
+        bytes[last] = (byte) (bytes[last] == 'E' ? 'A' : 'E');
+        Files.write(journalFile.toPath(), bytes);
+
+        assertSameGame(states.get(2), GameJournal.recover(directory, wordTree.getDawg()));
+    }
+
+    /**
+     * a recovered game is saved again, played on and recovered a second time
+     */
+    @Test
+    public void recoverAfterPlayingOn() throws IOException {
+        File directory = this.folder.newFolder();
+        GameState game = newGame();
+        GameJournal journal = new GameJournal(directory, game, GameJournal.Sync.NEVER, 0, NO_SNAPSHOTS);
+        play(game, 4);
+        journal.close();
+
+        GameState recovered = GameJournal.recover(directory, wordTree.getDawg());
+        assertSameGame(game, recovered);
+        journal = new GameJournal(directory, recovered, GameJournal.Sync.NEVER, 0, NO_SNAPSHOTS);
+        play(recovered, 3);
+        journal.close();
+
+        assertSameGame(recovered, GameJournal.recover(directory, wordTree.getDawg()));
+    }
+
+    /**
+     * entries left in the journal from an earlier epoch are skipped, as after a crash
+     * between a new game's snapshot being written and the old journal being emptied
+     */
+    @Test
+    public void recoverSkipsOtherEpoch() throws IOException {
+        File directory = this.folder.newFolder();
+        GameState game = newGame();
+        GameJournal journal = new GameJournal(directory, game, GameJournal.Sync.NEVER, 0, NO_SNAPSHOTS);
+        play(game, 4);
+        journal.close();
+        File journalFile = new File(directory, GameJournal.JOURNAL_NAME);
+        byte[] oldEntries = Files.readAllBytes(journalFile.toPath());
+
+        //the new game is dealt the same tiles, so the old entries would fit it
+        //and only their epoch keeps them from being replayed
+        GameState newGame = newGame();
+        new GameJournal(directory, newGame, GameJournal.Sync.NEVER, 0, NO_SNAPSHOTS).close();
+        Files.write(journalFile.toPath(), oldEntries);
+
+        assertSameGame(newGame, GameJournal.recover(directory, wordTree.getDawg()));
+    }
+
+    /**
+     * a snapshot that does not match its checksum is not loaded
+     */
+    @Test(expected = IOException.class)
+    public void recoverDamagedSnapshot() throws IOException {
+        File directory = this.folder.newFolder();
+        GameState game = newGame();
+        GameJournal journal = new GameJournal(directory, game, GameJournal.Sync.NEVER, 0, NO_SNAPSHOTS);
+        play(game, 2);
+        journal.close();
+
+        File snapshotFile = new File(directory, GameJournal.SNAPSHOT_NAME);
+        byte[] bytes = Files.readAllBytes(snapshotFile.toPath());
+        bytes[bytes.length / 2] ^= 1;
+        Files.write(snapshotFile.toPath(), bytes);
+
+        GameJournal.recover(directory, wordTree.getDawg());
+    }
+
+    /**
+     * starts a game with a seeded bag, so every run plays the same moves
+     * @return new game
+     */
+    private static GameState newGame(){
+        return new GameState(new TileBag(SEED));
+    }
+
+    /**
+     * plays the best scoring move a number of times
+     * @param game game to play in
+     * @param count number of moves
+     * @return copies of the game, before the first move and after each one
+     */
+    private static List<GameState> play(GameState game, int count){
+        List<GameState> states = new ArrayList<>();
+        states.add(GameJournal.copyThroughSnapshot(game, wordTree.getDawg()));
+        for (int i = 0; i < count; i++){
+            List<Move> legal = generator.generate(game.getBoard(), game.getRackLetters());
+            assertTrue("no legal move at move " + i, !legal.isEmpty());
+            assertTrue(game.play(legal.get(0), wordTree).isValid());
+            states.add(GameJournal.copyThroughSnapshot(game, wordTree.getDawg()));
+        }
+        return states;
+    }
+
+    /**
+     * finds where an entry starts in a journal
+     * @param journal whole journal
+     * @param index index of the entry
+     * @return offset of its length
+     */
+    private static int entryOffset(byte[] journal, int index){
+        ByteBuffer buffer = ByteBuffer.wrap(journal).order(ByteOrder.LITTLE_ENDIAN);
+        int offset = 0;
+        for (int i = 0; i < index; i++){
+            offset += 2 * Integer.BYTES + buffer.getInt(offset);
+        }
+        return offset;
+    }
+
+    /**
+     * checks that two games have the same board, bag, racks, scores and turn
+     * @param expected game as it was played
+     * @param actual game as it was recovered
+     */
+    private static void assertSameGame(GameState expected, GameState actual){
+        assertNotNull(actual);
+        assertEquals(expected.getTurn(), actual.getTurn());
+        for (int player = 1; player <= 2; player++){
+            assertEquals(expected.getScore(player), actual.getScore(player));
+            assertEquals(expected.getRack(player), actual.getRack(player));
+        }
+        for (char letter = 'A'; letter <= 'Z'; letter++){
+            assertEquals(expected.getBag().getCount(letter), actual.getBag().getCount(letter));
+        }
+        assertEquals(expected.getBag().getCount(MoveGenerator.BLANK), actual.getBag().getCount(MoveGenerator.BLANK));
+        assertTrue(expected.getBoard().hasSameCrossChecks(actual.getBoard()));
+    }
+}